@@ -0,0 +1,81 @@
+/*
+*  File Name: AssetsBenchmark.java
+*
+*  Measures the data structures the original Myszkowski transposition routed every letter through.
+*  Each invocation fills the structure with a number of letters and then drains it, as one line would.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.assets.HashTable;
+import com.assets.Queue;
+
+/** Benchmarks of HashTable and Queue. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetsBenchmark {
+
+   @Param({"16", "256", "4096"})
+   public int length;
+
+   @Param({"5", "10"})
+   public int columns;
+
+   private char[] letters;
+
+   @Setup
+   public void setup() {
+      letters = Inputs.letters(length, 42).toCharArray();
+   }
+
+   @Benchmark
+   public int hashTableInsertPop() {
+      HashTable table = new HashTable(columns);
+      for (int i = 0; i < letters.length; i++) {
+         table.insert(i % columns, letters[i]);
+      }
+      int sum = 0;
+      for (int row = 0; row < columns; row++) {
+         while (!table.isRowEmpty(row)) {
+            sum += table.pop(row);
+         }
+      }
+      return sum;
+   }
+
+   @Benchmark
+   public int queueOfferPoll() {
+      Queue queue = new Queue(columns);
+      for (int i = 0; i < columns; i++) {
+         queue.offer(i);
+      }
+      int sum = 0;
+      for (int i = 0; i < letters.length; i++) {
+         int row = queue.poll();
+         sum += row;
+         queue.offer(row);
+      }
+      return sum;
+   }
+}
@@ -0,0 +1,125 @@
+/*
+*  File Name: CipherBenchmark.java
+*
+*  Measures each stage of the Caesar-Myszkowski cipher on a single line,
+*  across line lengths and keyword shapes from five to ten letters with one to three repeats per letter.
+*  The byte path of Caesar and the letter count of the fused kernel run once on the Vector API
+*  and once on their scalar fallback;
+*  the Vector API only pays off on JDK 21 or later, so run this module on one to compare them.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ciphers.Caesar;
+import com.ciphers.CaesarMyszkowski;
+import com.ciphers.CompiledKey;
+import com.ciphers.Myszkowski;
+
+/** Benchmarks of Caesar, Myszkowski and the fused kernel. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Dcom.ciphers.vector=true"})
+public class CipherBenchmark {
+
+   @Param({"16", "256", "4096", "65536"})
+   public int length;
+
+   @Param({"AABCD", "TOMATO", "HELLOWORLD", "ABCABCABC"})
+   public String keyword;
+
+   private Caesar caesar;
+   private Myszkowski myszkowski;
+   private CaesarMyszkowski kernel;
+   private CompiledKey key;
+   private String plaintext, letters, ciphertext;
+   private byte[] source, target;
+   private StringBuilder builder;
+
+   @Setup
+   public void setup() {
+      caesar = new Caesar();
+      myszkowski = new Myszkowski();
+      kernel = new CaesarMyszkowski();
+      key = new CompiledKey(keyword);
+      plaintext = Inputs.line(length, 42);
+      letters = Inputs.letters(length, 42);
+      ciphertext = myszkowski.encipher(caesar.encipher(plaintext, key), key);
+      source = plaintext.getBytes();
+      target = new byte[length];
+      builder = new StringBuilder(length);
+   }
+
+   @Benchmark
+   public String caesarEncipher() {
+      return caesar.encipher(plaintext, keyword);
+   }
+
+   @Benchmark
+   public String caesarDecipher() {
+      return caesar.decipher(ciphertext, keyword);
+   }
+
+   @Benchmark
+   public int caesarBytesVector() {
+      return caesar.encipher(source, 0, length, target, key);
+   }
+
+   @Benchmark
+   @Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Dcom.ciphers.vector=false"})
+   public int caesarBytesScalar() {
+      return caesar.encipher(source, 0, length, target, key);
+   }
+
+   @Benchmark
+   public String myszkowskiEncipher() {
+      return myszkowski.encipher(letters, keyword);
+   }
+
+   @Benchmark
+   public String myszkowskiDecipher() {
+      return myszkowski.decipher(letters, keyword);
+   }
+
+   @Benchmark
+   public int kernelEncipher() {
+      return kernel.encipher(source, 0, length, target, key);
+   }
+
+   @Benchmark
+   @Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Dcom.ciphers.vector=false"})
+   public int kernelEncipherScalar() {
+      return kernel.encipher(source, 0, length, target, key);
+   }
+
+   @Benchmark
+   public int kernelEncipherAppendable() throws IOException {
+      builder.setLength(0);
+      return kernel.encipher(plaintext, builder, key);
+   }
+
+   @Benchmark
+   public int kernelDecipher() {
+      return kernel.decipher(source, 0, length, target, key);
+   }
+}
@@ -0,0 +1,53 @@
+/*
+*  File Name: Inputs.java
+*
+*  Deterministic lines of English-like text shared by every benchmark.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.benchmarks;
+
+import java.util.Random;
+
+/** Generates benchmark inputs. */
+final class Inputs {
+
+   private static final String ALPHABET = "etaoinshrdlucmfwypvbgkjqxzETAOINSHRDLU     ,.;'-";
+
+   private Inputs() {
+   }
+
+   /**
+   *  Generates a line of text with letters, spaces and punctuation.
+   *
+   *  @param length the number of characters
+   *  @param seed the seed of the generator
+   *  @return a line of ASCII text
+   */
+   static String line(int length, long seed) {
+      Random random = new Random(seed);
+      char[] line = new char[length];
+      for (int i = 0; i < length; i++) {
+         line[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+      }
+      return new String(line);
+   }
+
+   /**
+   *  Generates a line of uppercase letters only, as produced by the Caesar stage.
+   *
+   *  @param length the number of letters
+   *  @param seed the seed of the generator
+   *  @return a line of uppercase letters
+   */
+   static String letters(int length, long seed) {
+      Random random = new Random(seed);
+      char[] line = new char[length];
+      for (int i = 0; i < length; i++) {
+         line[i] = (char) ('A' + random.nextInt(26));
+      }
+      return new String(line);
+   }
+}
@@ -0,0 +1,139 @@
+/*
+*  File Name: PipelineBenchmark.java
+*
+*  Measures the whole file pipeline that Cipher.encipher and Cipher.decipher run behind the GUI:
+*  a memory-mapped read, the parallel fused kernel, and an atomic gather write.
+*  The staged variants run the same work on CipherPipeline, with reading, ciphering and writing on separate threads,
+*  and the off-heap variant on OffHeapCipher, from the mapped file straight into the writer's direct buffers.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.app.CipherPipeline;
+import com.app.OffHeapCipher;
+import com.app.ParallelCipher;
+import com.assets.GatherWriter;
+import com.ciphers.CompiledKey;
+
+/** Benchmarks of the file pipeline. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+
+   @Param({"80", "4096"})
+   public int lineLength;
+
+   @Param({"1", "4"})
+   public int parallelism;
+
+   private Path directory, plaintext, ciphertext, output;
+   private CompiledKey key;
+   private ParallelCipher engine;
+   private CipherPipeline pipeline;
+   private OffHeapCipher offHeap;
+
+   @Setup(Level.Trial)
+   public void setup() throws IOException {
+      directory = Files.createTempDirectory("pipeline");
+      plaintext = directory.resolve("plaintext.txt");
+      ciphertext = directory.resolve("ciphertext.txt");
+      output = directory.resolve("output.txt");
+      key = new CompiledKey("HELLOWORLD");
+      engine = new ParallelCipher(parallelism, ParallelCipher.DEFAULT_BATCH_SIZE);
+      pipeline = new CipherPipeline(parallelism, ParallelCipher.DEFAULT_BATCH_SIZE, 2 * parallelism + 2);
+      offHeap = new OffHeapCipher();
+      Random random = new Random(42);
+      try (BufferedWriter writer = Files.newBufferedWriter(plaintext, StandardCharsets.US_ASCII)) {
+         for (long size = 0; size < 32L << 20; size += lineLength + 1) {
+            writer.write(Inputs.line(lineLength, random.nextLong()));
+            writer.write('\n');
+         }
+      }
+      try (GatherWriter writer = new GatherWriter(ciphertext)) {
+         engine.encipher(plaintext, writer, key);
+      }
+   }
+
+   @TearDown(Level.Trial)
+   public void tearDown() throws IOException {
+      engine.close();
+      Files.deleteIfExists(plaintext);
+      Files.deleteIfExists(ciphertext);
+      Files.deleteIfExists(output);
+      Files.deleteIfExists(directory);
+   }
+
+   @Benchmark
+   public long encipherFile() throws IOException {
+      GatherWriter writer = new GatherWriter(output, GatherWriter.DEFAULT_BUFFER_SIZE, GatherWriter.DEFAULT_BUFFERS,
+         GatherWriter.Sync.NONE, true);
+      engine.encipher(plaintext, writer, key);
+      writer.close();
+      return writer.writes();
+   }
+
+   @Benchmark
+   public long decipherFile() throws IOException {
+      GatherWriter writer = new GatherWriter(output, GatherWriter.DEFAULT_BUFFER_SIZE, GatherWriter.DEFAULT_BUFFERS,
+         GatherWriter.Sync.NONE, true);
+      engine.decipher(ciphertext, writer, key);
+      writer.close();
+      return writer.writes();
+   }
+
+   @Benchmark
+   public long encipherFileStaged() throws IOException {
+      GatherWriter writer = new GatherWriter(output, GatherWriter.DEFAULT_BUFFER_SIZE, GatherWriter.DEFAULT_BUFFERS,
+         GatherWriter.Sync.NONE, true);
+      pipeline.encipher(plaintext, writer, key, null);
+      writer.close();
+      return writer.writes();
+   }
+
+   @Benchmark
+   public long decipherFileStaged() throws IOException {
+      GatherWriter writer = new GatherWriter(output, GatherWriter.DEFAULT_BUFFER_SIZE, GatherWriter.DEFAULT_BUFFERS,
+         GatherWriter.Sync.NONE, true);
+      pipeline.decipher(ciphertext, writer, key, null);
+      writer.close();
+      return writer.writes();
+   }
+
+   @Benchmark
+   public long encipherFileOffHeap() throws IOException {
+      GatherWriter writer = new GatherWriter(output, GatherWriter.DEFAULT_BUFFER_SIZE, GatherWriter.DEFAULT_BUFFERS,
+         GatherWriter.Sync.NONE, true);
+      offHeap.encipher(plaintext, writer, key);
+      writer.close();
+      return writer.writes();
+   }
+}
@@ -0,0 +1,37 @@
+/*
+*  File Name: Runner.java
+*
+*  Runs the benchmarks with allocation profiling enabled by default.
+*  Any JMH command-line option may be given, such as a benchmark pattern or -prof to add another profiler.
+*
+*  Usage:
+*     java -jar benchmarks/target/benchmarks.jar [JMH options]
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/** The entry point of the benchmarks. */
+public final class Runner {
+
+   private Runner() {
+   }
+
+   /** Runs the selected benchmarks with {@code -prof gc}. */
+   public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+      Options options = new OptionsBuilder()
+         .parent(new CommandLineOptions(args))
+         .addProfiler(GCProfiler.class)
+         .build();
+      new org.openjdk.jmh.runner.Runner(options).run();
+   }
+}
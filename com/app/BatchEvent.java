@@ -0,0 +1,45 @@
+/*
+*  File Name: BatchEvent.java
+*
+*  A flight recorder event spanning one batch of lines ciphered on a worker thread of {@code ParallelCipher}.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A batch of lines ciphered by the fused kernel. */
+@Name("com.app.Batch")
+@Label("Cipher Batch")
+@Category("Caesar-Myszkowski")
+@Description("A batch of lines ciphered by the fused kernel")
+class BatchEvent extends Event {
+
+   @Label("Direction")
+   String direction;
+
+   @Label("Key Length")
+   int keyLength;
+
+   @Label("Lines")
+   int lines;
+
+   @Label("Longest Line")
+   @Description("The number of bytes in the longest line of the batch")
+   int longestLine;
+
+   @Label("Bytes")
+   @DataAmount
+   int bytes;
+
+   @Label("Letters")
+   int letters;
+}
@@ -1,6 +1,6 @@
 /*
 *  File Name: Cipher.java
-*  Dependencies: Myszkowski.java and Caesar.java
+*  Dependencies: CipherPipeline.java and CompiledKey.java
 *
 *  Caesar-Myszkowski cipher is a combination of two cryptographic techniques.
 *  The enhanced Caesar cipher, a type of substitution cipher in which a letter some number of positions
@@ -27,11 +27,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.Files;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JFileChooser;
 import javax.swing.filechooser.FileSystemView;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -49,6 +48,7 @@ import javax.swing.plaf.basic.BasicScrollBarUI;
 import javax.swing.border.*; 
 import javax.swing.text.DefaultCaret;
 import javax.swing.ImageIcon;
+import javax.swing.SwingWorker;
 
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -64,8 +64,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 // Import local packages.
-import com.ciphers.Caesar;
-import com.ciphers.Myszkowski;
+import com.assets.GatherWriter;
+import com.ciphers.CompiledKey;
 
 /** A hybrid cipher. */
 public class Cipher extends JFrame {
@@ -74,11 +74,8 @@ public class Cipher extends JFrame {
    private File file;
    private File selectedFile;
    private File newFile;
-   private FileReader read;
-   private FileWriter writer;
    private StringBuilder builder;
-   private Caesar caesar;
-   private Myszkowski myszkowski;
+   private Job job;
 
    private String path;
    private boolean isValid;
@@ -87,7 +84,7 @@ public class Cipher extends JFrame {
    // Frame
    private JPanel backgroundPanel, foregroundPanel;
    private JLabel backgroundImage, keyInputStatus;
-   private JButton select, encipher, decipher;
+   private JButton select, encipher, decipher, cancel;
    private JTextField keyInput;
    private JTextArea statusBox;
    private JScrollPane scroll;
@@ -282,6 +279,26 @@ public class Cipher extends JFrame {
          }
       });
       
+      /* Cancel Button */
+      cancel = new JButton("Cancel");
+      cancel.setFont(leelawadee);
+      cancel.setForeground(Color.decode("#cacaca"));
+      cancel.setBackground(Color.decode("#353535"));
+      cancel.setBorder(compound);
+      cancel.setSize(105,40);
+      cancel.setLocation(365, 205);
+      cancel.setEnabled(false);
+      cancel.addActionListener(new ActionListener() {
+         @Override
+         public void actionPerformed(ActionEvent ae) {
+            if (job != null) {
+               statusBox.setText("Cancelling...");
+               cancel.setEnabled(false);
+               job.stop();
+            }
+         }
+      });
+      
       // Background
       backgroundPanel = new JPanel() {  
          public void paintComponent(Graphics g) {  
@@ -299,6 +316,7 @@ public class Cipher extends JFrame {
       add(select);
       add(encipher);
       add(decipher);
+      add(cancel);
       add(keyInput);
       add(keyInputStatus);
       add(statusBox);
@@ -337,97 +355,12 @@ public class Cipher extends JFrame {
       keyInputStatus.setText("Kindly enter a keyword here.");
    }
    
-   /**
-   *  Tests whether a certain keyword is uppercase or not.
-   *
-   *  @param key a certain keyword
-   *  @return {@code true} if the keyword is indeed uppercase, otherwise {@code false}
-   */
-   private boolean isAllUpper(String key) {
-      for(char c : key.toCharArray()) {
-         if(Character.isLetter(c) && Character.isLowerCase(c)) {
-            return false;
-         }
-      }
-      return true;
-   }
-   
-   /**
-   *  Tests whether every characters of a certain keyword are letters or not.
-   *
-   *  @param key a certain keyword
-   *  @return {@code true} if the entire keyword comprises letters, otherwise {@code false}
-   */
-   private boolean isLetter(String key) {
-      for(char c : key.toCharArray()) {
-         if(Character.isDigit(c) || !Character.isLetter(c)) {
-            return false;
-         }
-      }
-      return true; 
-   }
-   
-   /**
-   *  Tests whether a certain keyword has recurring letters or not.
-   *
-   *  @param key a certain keyword
-   *  @return {@code true} if the entire keyword has atleast one letter, otherwise {@code false}
-   */
-   private boolean hasRecurringLetter(String key) {
-      char[] keys = key.toCharArray();
-      int[] frequency = new int[26];
-      for (int i = 0; i < keys.length; i++) {
-         frequency[keys[i] - 65]++;
-      }
-      for (int i = 0; i < 26; i++) {
-         if (frequency[i] > 1) {
-            return true;
-         }
-      }
-      return false;
-   }
-   
-   /**
-   *  Tests whether a certain letter in a keyword exceeds recurring count or not.
-   *
-   *  @param key a certain keyword
-   *  @return {@code true} if the there are too much recurring letters, otherwise {@code false}
-   */
-   private boolean hasManyRecurringLetter(String key) {
-      char[] keys = key.toCharArray();
-      int[] frequency = new int[26];
-      for (int i = 0; i < keys.length; i++) {
-         frequency[keys[i] - 65]++;
-      }
-      for (int i = 0; i < 26; i++) {
-         if (frequency[i] > 3 && frequency[i] <= keys.length) {
-            return true;
-         }
-      }
-      return false;
-   }
-
    /** Tests whether the typed keyword is valid or not */
    private void validateInput() {
       String key = keyInput.getText();
-      if (key.length() < 5 || key.length() > 10) {
-         keyInputStatus.setText("The keyword must be five to ten letters.");
-         isValid = false;
-      }
-      else if (!isAllUpper(key)) {
-         keyInputStatus.setText("Every letter in the keyword must be in uppercase.");
-         isValid = false;
-      }
-      else if (!isLetter(key)) {
-         keyInputStatus.setText("The keyword must only have alphabetic letters.");
-         isValid = false;
-      }
-      else if (!hasRecurringLetter(key)) {
-         keyInputStatus.setText("The keyword must have at least one recurring letter.");
-         isValid = false;
-      }
-      else if (hasManyRecurringLetter(key)) {
-         keyInputStatus.setText("There are too much recurring letters in the keyword.");
+      String problem = CompiledKey.validate(key);
+      if (problem != null) {
+         keyInputStatus.setText(problem);
          isValid = false;
       }
       else {
@@ -457,60 +390,189 @@ public class Cipher extends JFrame {
       }
    }
    
+   /**
+   *  Ciphers the selected file in the background and streams its progress into the status box.
+   *  It is stopped by interrupting its thread rather than by cancelling the worker, so {@code done()} only runs
+   *  once the background work has really ended and knows whether the output was kept or deleted.
+   */
+   private class Job extends SwingWorker<Boolean, String> {
+      private final CompiledKey key;
+      private final Path input;
+      private final File output;
+      private final boolean isEncipher;
+      private final long size;
+      private final long start;
+      private long reported;
+      private volatile boolean isStopped;
+      private Thread worker;
+      
+      Job(CompiledKey key, Path input, File output, boolean isEncipher) throws IOException {
+         this.key = key;
+         this.input = input;
+         this.output = output;
+         this.isEncipher = isEncipher;
+         this.size = Files.size(input);
+         this.start = System.nanoTime();
+      }
+      
+      /** Asks the background work to stop and delete its partial output. */
+      synchronized void stop() {
+         isStopped = true;
+         if (worker != null) {
+            worker.interrupt();
+         }
+      }
+      
+      /**
+      *  Ciphers the file unless stopped first.
+      *
+      *  @return {@code true} if the output was written, or {@code false} if the job was stopped and it was deleted
+      *  @throws IOException if the file cannot be ciphered, or a stopped job's partial output cannot be deleted
+      */
+      @Override
+      protected Boolean doInBackground() throws IOException {
+         synchronized (this) {
+            if (isStopped) {
+               return false;
+            }
+            worker = Thread.currentThread();
+         }
+         try {
+            return cipher();
+         } finally {
+            synchronized (this) {
+               worker = null;
+               // A stop that came too late to matter must not leave the pooled thread interrupted.
+               Thread.interrupted();
+            }
+         }
+      }
+      
+      private boolean cipher() throws IOException {
+         GatherWriter writer = new GatherWriter(output.toPath(), GatherWriter.DEFAULT_BUFFER_SIZE,
+            GatherWriter.DEFAULT_BUFFERS, GatherWriter.Sync.NONE, true);
+         try {
+            CipherPipeline engine = new CipherPipeline();
+            ParallelCipher.Progress progress = new ParallelCipher.Progress() {
+               @Override
+               public void update(long bytes, long lines) {
+                  report(bytes, lines);
+               }
+            };
+            if (isEncipher) {
+               engine.encipher(input, writer, key, progress);
+            } else {
+               engine.decipher(input, writer, key, progress);
+            }
+            if (isStopped) {
+               writer.abort();
+               return false;
+            }
+            writer.close();
+            return true;
+         } catch (IOException | RuntimeException e) {
+            if (isStopped) {
+               // Interrupted by the stop; only a failure to delete the partial output is worth reporting.
+               writer.abort();
+               return false;
+            }
+            try {
+               writer.abort();
+            } catch (IOException failure) {
+               e.addSuppressed(failure);
+            }
+            throw e;
+         }
+      }
+      
+      /**
+      *  Publishes the progress at most ten times a second.
+      *
+      *  @param bytes the number of bytes processed so far
+      *  @param lines the number of lines processed so far
+      */
+      private void report(long bytes, long lines) {
+         long now = System.nanoTime();
+         if (now - reported < 100000000L) {
+            return;
+         }
+         reported = now;
+         double seconds = Math.max(now - start, 1) / 1e9;
+         double rate = bytes / seconds;
+         publish(String.format("%s...%n%.1f of %.1f MB processed (%d%%)%n%,.0f lines per second%nAbout %.0f s left",
+            isEncipher ? "Enciphering" : "Deciphering", bytes / 1e6, size / 1e6,
+            size == 0 ? 100 : bytes * 100 / size, lines / seconds, rate == 0 ? 0 : (size - bytes) / rate));
+      }
+      
+      @Override
+      protected void process(List<String> chunks) {
+         if (!isStopped) {
+            statusBox.setText(chunks.get(chunks.size() - 1));
+         }
+      }
+      
+      @Override
+      protected void done() {
+         String name = isEncipher ? "Encipher" : "Decipher";
+         try {
+            if (!get()) {
+               statusBox.setText(name + " was cancelled.\nThe partial output was deleted.");
+            } else if (isStopped) {
+               statusBox.setText(name + " had already completed when it was cancelled.\n\nThe " + name.toLowerCase()
+                  + "ed text was kept on\n" + output);
+            } else {
+               statusBox.setText(name + " completed!\n\nThe " + name.toLowerCase() + "ed text was written on\n" + output);
+            }
+         } catch (ExecutionException e) {
+            statusBox.setText(name + " failed.\n" + e.getCause().getMessage());
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+         cancel.setEnabled(false);
+         select.setEnabled(true);
+         job = null;
+      }
+   }
+   
+   /**
+   *  Starts ciphering the selected text file in the background.
+   *
+   *  @param key a certain valid keyword
+   *  @param fileName the newly created file's name
+   *  @param isEncipher {@code true} to encipher, {@code false} to decipher
+   *  @throws IOException if the selected file is not found
+   */
+   private void start(String key, File fileName, boolean isEncipher) throws IOException {
+      job = new Job(new CompiledKey(key), selectedFile.toPath(), fileName, isEncipher);
+      select.setEnabled(false);
+      disableButtons();
+      cancel.setEnabled(true);
+      statusBox.setText(isEncipher ? "Enciphering..." : "Deciphering...");
+      job.execute();
+   }
+   
    /**
    *  Encrypts the selected text file and writes the ciphertext into a new file.
+   *  Runs in the background; the status box shows its progress and the cancel button stops it.
    *
    *  @param key a certain valid keyword
    *  @param fileName the newly created file's name
    *  @throws IOException if the file is not found
    */
    public void encipher(String key, File fileName) throws IOException {
-      caesar = new Caesar();
-      myszkowski = new Myszkowski();
-      try (BufferedReader reader = new BufferedReader(new FileReader(selectedFile))) {   
-         writer = new FileWriter(fileName);
-         String line = reader.readLine();
-         while(line != null) {
-            line = caesar.encipher(line, key);
-            line = myszkowski.encipher(line, key);
-            writer.write(line + "\n");
-            line = reader.readLine();
-         }
-         statusBox.setText("Encipher completed!\n\nThe enciphered text was written on\n" + fileName);
-         disableButtons();
-         clearFiles();
-         writer.close();
-      } catch (FileNotFoundException e){
-         e.printStackTrace();
-      }
+      start(key, fileName, true);
    }
    
    /**
    *  Decrypts the selected text file and writes the deciphered text into a new file.
+   *  Runs in the background; the status box shows its progress and the cancel button stops it.
    *
    *  @param key a certain valid keyword
    *  @param fileName the newly created file's name
    *  @throws IOException if the file is not found
    */
    public void decipher(String key, File fileName) throws IOException {
-      caesar = new Caesar();
-      myszkowski = new Myszkowski();
-      try (BufferedReader reader = new BufferedReader(new FileReader(selectedFile))) {
-         writer = new FileWriter(fileName);
-         String line = reader.readLine();
-         while(line != null) {
-            line = caesar.decipher(line, key);
-            line = myszkowski.decipher(line, key);
-            writer.write(line + "\n");
-            line = reader.readLine();
-         }
-         statusBox.setText("Decipher completed!\n\nThe deciphered text was written on\n" + fileName);
-         disableButtons();
-         clearFiles();
-         writer.close();
-      } catch (FileNotFoundException e){
-         e.printStackTrace();
-      }
+      start(key, fileName, false);
    }
    
    /** Executes the program and runs it until its window is closed. */
@@ -527,4 +589,4 @@ public class Cipher extends JFrame {
          }  
       });  
    } 
-}  
\ No newline at end of file
+}  
@@ -0,0 +1,209 @@
+/*
+*  File Name: CipherMetrics.java
+*  Dependencies: CipherMetricsMXBean.java and Histogram.java
+*
+*  The counters and latency histograms of every {@code ParallelCipher} and {@code CipherPipeline} in this process,
+*  registered once as a platform MBean so a running job can be watched in JConsole or scraped over JMX.
+*
+*  Notes:
+*  - Every counter is a {@code LongAdder} and every latency is recorded once per batch, not per line,
+*    so the threads ciphering batches never contend on a shared counter.
+*  - Caesar and Myszkowski run as one fused kernel, hence they share the cipher latency.
+*  - The queue depths of a {@code CipherPipeline} are live, while its stall times are added once each job ends.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.assets.Histogram;
+
+/** The metrics of the ciphering pipeline. */
+public class CipherMetrics implements CipherMetricsMXBean {
+
+   /** The name the shared metrics are registered under. */
+   public static final String OBJECT_NAME = "com.app:type=CipherMetrics";
+
+   private static CipherMetrics shared;
+
+   final LongAdder lines = new LongAdder();
+   final LongAdder letters = new LongAdder();
+   final LongAdder bytesIn = new LongAdder();
+   final LongAdder bytesOut = new LongAdder();
+   final LongAdder hits = new LongAdder();
+   final LongAdder misses = new LongAdder();
+   final Histogram read = new Histogram();
+   final Histogram cipher = new Histogram();
+   final Histogram write = new Histogram();
+   final LongAdder awaitingCipher = new LongAdder();
+   final LongAdder awaitingWrite = new LongAdder();
+   final LongAdder[] stalls = {new LongAdder(), new LongAdder(), new LongAdder()};
+
+   /** A summary of a latency histogram, in microseconds. */
+   public static final class Latency {
+      private final long count;
+      private final double mean;
+      private final long p50, p90, p99, max;
+
+      Latency(Histogram histogram) {
+         this.count = histogram.count();
+         this.mean = histogram.mean() / 1e3;
+         this.p50 = histogram.percentile(50) / 1000;
+         this.p90 = histogram.percentile(90) / 1000;
+         this.p99 = histogram.percentile(99) / 1000;
+         this.max = histogram.max() / 1000;
+      }
+
+      public long getCount() {
+         return count;
+      }
+
+      public double getMeanMicros() {
+         return mean;
+      }
+
+      public long getP50Micros() {
+         return p50;
+      }
+
+      public long getP90Micros() {
+         return p90;
+      }
+
+      public long getP99Micros() {
+         return p99;
+      }
+
+      public long getMaxMicros() {
+         return max;
+      }
+
+      @Override
+      public String toString() {
+         return String.format("%d batches, mean %.1f us, p50 %d us, p90 %d us, p99 %d us, max %d us",
+            count, mean, p50, p90, p99, max);
+      }
+   }
+
+   /**
+   *  Returns the metrics shared by the whole process, registering them as a platform MBean on first use.
+   *
+   *  @return shared the process-wide metrics
+   */
+   public static synchronized CipherMetrics shared() {
+      if (shared == null) {
+         shared = new CipherMetrics();
+         try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(shared, new ObjectName(OBJECT_NAME));
+         } catch (JMException | SecurityException e) {
+            // The counters still work without JMX, for example under a restrictive security manager.
+         }
+      }
+      return shared;
+   }
+
+   @Override
+   public long getLines() {
+      return lines.sum();
+   }
+
+   @Override
+   public long getLetters() {
+      return letters.sum();
+   }
+
+   @Override
+   public long getBytesIn() {
+      return bytesIn.sum();
+   }
+
+   @Override
+   public long getBytesOut() {
+      return bytesOut.sum();
+   }
+
+   @Override
+   public long getDroppedCharacters() {
+      return bytesIn.sum() - letters.sum();
+   }
+
+   @Override
+   public long getPlanCacheHits() {
+      return hits.sum();
+   }
+
+   @Override
+   public long getPlanCacheMisses() {
+      return misses.sum();
+   }
+
+   @Override
+   public double getPlanCacheHitRate() {
+      long hits = this.hits.sum();
+      long lookups = hits + misses.sum();
+      return lookups == 0 ? 0 : (double) hits / lookups;
+   }
+
+   @Override
+   public Latency getReadLatency() {
+      return new Latency(read);
+   }
+
+   @Override
+   public Latency getCipherLatency() {
+      return new Latency(cipher);
+   }
+
+   @Override
+   public Latency getWriteLatency() {
+      return new Latency(write);
+   }
+
+   @Override
+   public long getBatchesAwaitingCipher() {
+      return awaitingCipher.sum();
+   }
+
+   @Override
+   public long getBatchesAwaitingWrite() {
+      return awaitingWrite.sum();
+   }
+
+   @Override
+   public long getReadStallMillis() {
+      return stalls[CipherPipeline.Stage.READ.ordinal()].sum() / 1000000;
+   }
+
+   @Override
+   public long getCipherStallMillis() {
+      return stalls[CipherPipeline.Stage.CIPHER.ordinal()].sum() / 1000000;
+   }
+
+   @Override
+   public long getWriteStallMillis() {
+      return stalls[CipherPipeline.Stage.WRITE.ordinal()].sum() / 1000000;
+   }
+
+   @Override
+   public void reset() {
+      lines.reset();
+      letters.reset();
+      bytesIn.reset();
+      bytesOut.reset();
+      hits.reset();
+      misses.reset();
+      read.reset();
+      cipher.reset();
+      write.reset();
+      for (LongAdder stall : stalls) {
+         stall.reset();
+      }
+   }
+}
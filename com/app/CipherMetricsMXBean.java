@@ -0,0 +1,66 @@
+/*
+*  File Name: CipherMetricsMXBean.java
+*  Dependencies: CipherMetrics.java
+*
+*  The management interface of the cipher's metrics, as shown in JConsole under com.app:type=CipherMetrics.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+/** The live counters and latencies of every {@code ParallelCipher} and {@code CipherPipeline} in this process. */
+public interface CipherMetricsMXBean {
+
+   /** Returns the number of lines ciphered. */
+   long getLines();
+
+   /** Returns the number of letters ciphered. */
+   long getLetters();
+
+   /** Returns the number of bytes read, excluding line terminators. */
+   long getBytesIn();
+
+   /** Returns the number of bytes written, including line terminators. */
+   long getBytesOut();
+
+   /** Returns the number of characters dropped for not being letters. */
+   long getDroppedCharacters();
+
+   /** Returns the number of transpositions found in a plan cache. */
+   long getPlanCacheHits();
+
+   /** Returns the number of transpositions compiled because a plan cache had none. */
+   long getPlanCacheMisses();
+
+   /** Returns the share of lookups that hit a plan cache, from zero to one. */
+   double getPlanCacheHitRate();
+
+   /** Returns the time spent reading each batch of lines. */
+   CipherMetrics.Latency getReadLatency();
+
+   /** Returns the time spent ciphering each batch of lines, both stages fused. */
+   CipherMetrics.Latency getCipherLatency();
+
+   /** Returns the time spent writing each batch of lines. */
+   CipherMetrics.Latency getWriteLatency();
+
+   /** Returns the number of batches read by a pipeline and waiting for a worker. */
+   long getBatchesAwaitingCipher();
+
+   /** Returns the number of batches ciphered by a pipeline and waiting to be written in order. */
+   long getBatchesAwaitingWrite();
+
+   /** Returns the time pipeline readers have waited for an empty batch, in milliseconds. */
+   long getReadStallMillis();
+
+   /** Returns the time pipeline workers have waited for a batch to cipher, in milliseconds. */
+   long getCipherStallMillis();
+
+   /** Returns the time pipeline writers have waited for the next ciphered batch, in milliseconds. */
+   long getWriteStallMillis();
+
+   /** Resets every counter and latency to zero. */
+   void reset();
+}
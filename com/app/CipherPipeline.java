@@ -0,0 +1,558 @@
+/*
+*  File Name: CipherPipeline.java
+*  Dependencies: CaesarMyszkowski.java, CompiledKey.java, LineReader.java, MappedLineReader.java, RingBuffer.java
+*                and CipherMetrics.java
+*
+*  Ciphers a file in three stages that run at the same time: a reader thread that copies lines into batches,
+*  a pool of worker threads that cipher batches, and a writer that puts batches back in sequence and writes them.
+*  The stages hand batches to each other through bounded ring buffers, so the disk and the processors stay busy
+*  together, and a slow stage holds the others back instead of letting batches pile up in memory.
+*
+*  Notes:
+*  - Every batch, with its input and output arrays, is allocated once and recycled from the writer back to the reader;
+*    the number of batches is the depth of the pipeline and bounds its memory.
+*  - The writer is the calling thread, so progress is reported and errors are thrown where the job was started.
+*  - The depth of each stage's queue and the time each stage has stalled waiting for work are exposed
+*    both here and, once a job ends, through the process-wide {@code CipherMetrics} MBean.
+*  - Runs one job at a time; a second job waits for the first.
+*  - A stopped job closes its input stream if the reader does not stop on an interrupt, since a read from a pipe,
+*    the console or a socket ignores interrupts; a reader that still does not stop is left behind and reported.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.assets.LineReader;
+import com.assets.MappedLineReader;
+import com.assets.RingBuffer;
+import com.ciphers.CaesarMyszkowski;
+import com.ciphers.CompiledKey;
+
+/** A three-stage reader, cipher and writer pipeline. */
+public class CipherPipeline {
+
+   /** A stage of the pipeline. */
+   public enum Stage {
+      /** Copies lines into empty batches; waits for the writer to recycle one. */
+      READ,
+      /** Ciphers full batches; waits for the reader to fill one. */
+      CIPHER,
+      /** Writes ciphered batches in order; waits for the workers to finish the next one. */
+      WRITE
+   }
+
+   // How long a stopping job waits for its reader, before and after closing the input, in milliseconds.
+   private static final long STOP_TIMEOUT = 1000;
+
+   private final int workers;
+   private final Batch[] batches;
+   private final CaesarMyszkowski[] engines;
+   private final LongAdder[] stalls = {new LongAdder(), new LongAdder(), new LongAdder()};
+   private final CipherMetrics metrics = CipherMetrics.shared();
+   private volatile Job current;
+
+   /** Constructs a {@code CipherPipeline} with a worker per available processor and the default batches. */
+   public CipherPipeline() {
+      this(Runtime.getRuntime().availableProcessors(), ParallelCipher.DEFAULT_BATCH_SIZE,
+         2 * Runtime.getRuntime().availableProcessors() + 2);
+   }
+
+   /**
+   *  Constructs a {@code CipherPipeline} with a certain number of workers and batches.
+   *
+   *  @param workers the number of threads ciphering batches
+   *  @param batchSize the number of lines in a batch
+   *  @param depth the number of batches in the pipeline at once, at least two
+   */
+   public CipherPipeline(int workers, int batchSize, int depth) {
+      if (workers < 1 || batchSize < 1 || depth < 2) {
+         throw new IllegalArgumentException("The workers and batch size must be at least one, the depth at least two.");
+      }
+      this.workers = workers;
+      this.batches = new Batch[depth];
+      for (int i = 0; i < depth; i++) {
+         batches[i] = new Batch(batchSize);
+      }
+      this.engines = new CaesarMyszkowski[workers];
+      for (int i = 0; i < workers; i++) {
+         engines[i] = new CaesarMyszkowski();
+      }
+   }
+
+   /** A batch of lines copied back to back into one array, and the same lines ciphered into another. */
+   private static final class Batch {
+      byte[] input = new byte[65536];
+      byte[] output = new byte[65536];
+      final int[] start;
+      final int[] end;
+      int lines, size, outputSize;
+      long sequence, position;
+
+      Batch(int batchSize) {
+         start = new int[batchSize];
+         end = new int[batchSize];
+      }
+
+      void clear() {
+         lines = 0;
+         size = 0;
+         outputSize = 0;
+      }
+
+      void add(byte[] line, int length) {
+         reserve(length);
+         System.arraycopy(line, 0, input, size, length);
+         append(length);
+      }
+
+      void add(ByteBuffer window, int offset, int length) {
+         reserve(length);
+         window.get(offset, input, size, length);
+         append(length);
+      }
+
+      private void reserve(int length) {
+         if (size + length > input.length) {
+            input = Arrays.copyOf(input, Math.max(input.length * 2, size + length));
+         }
+      }
+
+      private void append(int length) {
+         start[lines] = size;
+         size += length;
+         end[lines++] = size;
+      }
+
+      boolean isFull() {
+         return lines == end.length;
+      }
+   }
+
+   /** The rings and threads of one file or stream on its way through the pipeline. */
+   private class Job {
+      final CompiledKey key;
+      final boolean isEncipher;
+      final Closeable input;
+      final RingBuffer<Batch> empty = new RingBuffer<>(batches.length);
+      final RingBuffer<Batch> filled = new RingBuffer<>(batches.length);
+      final RingBuffer<Batch> ciphered = new RingBuffer<>(batches.length);
+      final Batch[] reorder = new Batch[batches.length];
+      final AtomicReference<Throwable> failure = new AtomicReference<>();
+      final AtomicInteger running = new AtomicInteger(workers);
+      final Thread[] threads = new Thread[workers + 1];
+      long lines;
+
+      Job(CompiledKey key, boolean isEncipher, Closeable input) throws InterruptedException {
+         this.key = key;
+         this.isEncipher = isEncipher;
+         this.input = input;
+         for (Batch batch : batches) {
+            batch.clear();
+            empty.put(batch);
+         }
+      }
+
+      /** Stops every stage and records why, unless a failure was recorded first. */
+      void fail(Throwable cause) {
+         failure.compareAndSet(null, cause);
+         empty.close();
+         filled.close();
+         ciphered.close();
+      }
+
+      /**
+      *  Takes an empty batch for the reader.
+      *
+      *  @return batch an empty batch, or {@code null} if the job has failed
+      */
+      Batch next(long sequence) throws InterruptedException {
+         Batch batch = empty.take();
+         if (batch != null) {
+            batch.clear();
+            batch.sequence = sequence;
+         }
+         return batch;
+      }
+
+      void read(Path input) throws IOException, InterruptedException {
+         try (MappedLineReader reader = new MappedLineReader(input)) {
+            long sequence = 0;
+            Batch batch = next(sequence++);
+            int length = reader.readLine();
+            while (length != -1 && batch != null) {
+               batch.add(reader.buffer(), reader.offset(), length);
+               batch.position = reader.position();
+               if (batch.isFull()) {
+                  queue(batch);
+                  batch = next(sequence++);
+               }
+               length = reader.readLine();
+            }
+            if (batch != null && batch.lines > 0) {
+               queue(batch);
+            }
+         }
+      }
+
+      void read(InputStream input) throws IOException, InterruptedException {
+         LineReader reader = new LineReader(input);
+         long sequence = 0, position = 0;
+         Batch batch = next(sequence++);
+         int length = reader.readLine();
+         while (length != -1 && batch != null) {
+            batch.add(reader.line(), length);
+            position += length + 1;
+            batch.position = position;
+            if (batch.isFull()) {
+               queue(batch);
+               batch = next(sequence++);
+            }
+            length = reader.readLine();
+         }
+         if (batch != null && batch.lines > 0) {
+            queue(batch);
+         }
+      }
+
+      void queue(Batch batch) throws InterruptedException {
+         if (filled.put(batch)) {
+            metrics.awaitingCipher.increment();
+         }
+      }
+
+      void cipher(CaesarMyszkowski engine) throws InterruptedException {
+         for (Batch batch = filled.take(); batch != null; batch = filled.take()) {
+            metrics.awaitingCipher.decrement();
+            long began = System.nanoTime();
+            if (batch.output.length < batch.size + batch.lines) {
+               batch.output = new byte[Math.max(batch.output.length * 2, batch.size + batch.lines)];
+            }
+            long hits = engine.cache().hits(), misses = engine.cache().misses();
+            byte[] output = batch.output;
+            int outputSize = 0;
+            for (int i = 0; i < batch.lines; i++) {
+               int length = batch.end[i] - batch.start[i];
+               outputSize += isEncipher
+                  ? engine.encipher(batch.input, batch.start[i], length, output, outputSize, key)
+                  : engine.decipher(batch.input, batch.start[i], length, output, outputSize, key);
+               output[outputSize++] = '\n';
+            }
+            batch.outputSize = outputSize;
+            metrics.lines.add(batch.lines);
+            metrics.letters.add(outputSize - batch.lines);
+            metrics.bytesIn.add(batch.size);
+            metrics.hits.add(engine.cache().hits() - hits);
+            metrics.misses.add(engine.cache().misses() - misses);
+            metrics.cipher.record(System.nanoTime() - began);
+            if (ciphered.put(batch)) {
+               metrics.awaitingWrite.increment();
+            }
+         }
+      }
+
+      void write(OutputStream output, ParallelCipher.Progress progress) throws IOException, InterruptedException {
+         long expected = 0;
+         for (Batch batch = ciphered.take(); batch != null; batch = ciphered.take()) {
+            reorder[(int) (batch.sequence % reorder.length)] = batch;
+            for (int slot = (int) (expected % reorder.length); reorder[slot] != null;
+                 slot = (int) (expected % reorder.length)) {
+               Batch next = reorder[slot];
+               reorder[slot] = null;
+               metrics.awaitingWrite.decrement();
+               long began = System.nanoTime();
+               output.write(next.output, 0, next.outputSize);
+               metrics.write.record(System.nanoTime() - began);
+               metrics.bytesOut.add(next.outputSize);
+               lines += next.lines;
+               expected++;
+               if (progress != null) {
+                  progress.update(next.position, lines);
+               }
+               if (Thread.currentThread().isInterrupted()) {
+                  throw new InterruptedIOException("The job was interrupted.");
+               }
+               empty.put(next);
+            }
+         }
+      }
+
+      /** Starts the reader and the workers, with the calling thread as the writer. */
+      void run(Source source, OutputStream output, ParallelCipher.Progress progress) throws IOException {
+         threads[0] = new Thread(() -> {
+            try {
+               source.read(this);
+               filled.close();
+            } catch (Throwable e) {
+               fail(e);
+            }
+         }, "cipher-pipeline-reader");
+         for (int i = 0; i < workers; i++) {
+            CaesarMyszkowski engine = engines[i];
+            threads[i + 1] = new Thread(() -> {
+               try {
+                  cipher(engine);
+               } catch (Throwable e) {
+                  fail(e);
+               } finally {
+                  if (running.decrementAndGet() == 0) {
+                     ciphered.close();
+                  }
+               }
+            }, "cipher-pipeline-worker-" + i);
+         }
+         for (Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+         }
+         try {
+            write(output, progress);
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException stopped = new InterruptedIOException("Interrupted while waiting for a batch.");
+            fail(stopped);
+            throw stopped;
+         } catch (IOException | RuntimeException e) {
+            fail(e);
+            throw e;
+         } finally {
+            stop();
+         }
+         Throwable cause = failure.get();
+         if (cause instanceof IOException) {
+            throw (IOException) cause;
+         }
+         if (cause != null) {
+            throw new IOException("A batch could not be read or ciphered.", cause);
+         }
+      }
+
+      /**
+      *  Stops every thread of the job, waits for them, and adds up how long each stage stalled.
+      *  A reader that is still blocked after an interrupt has its input closed under it; if even that does not
+      *  stop it in time, it is left behind and the job fails with the reason.
+      */
+      void stop() {
+         empty.close();
+         filled.close();
+         ciphered.close();
+         boolean isInterrupted = Thread.interrupted();
+         for (Thread thread : threads) {
+            if (thread != null) {
+               thread.interrupt();
+            }
+         }
+         Thread reader = threads[0];
+         if (reader != null) {
+            isInterrupted |= join(reader, STOP_TIMEOUT);
+            if (reader.isAlive() && input != null) {
+               try {
+                  input.close();
+               } catch (IOException e) {
+                  report(e);
+               }
+               isInterrupted |= join(reader, STOP_TIMEOUT);
+            }
+            if (reader.isAlive()) {
+               report(new IOException("The reader did not stop within " + 2 * STOP_TIMEOUT
+                  + " ms and was left blocked on its input."));
+            }
+         }
+         for (int i = 1; i < threads.length; i++) {
+            if (threads[i] != null) {
+               isInterrupted |= join(threads[i], 0);
+            }
+         }
+         if (isInterrupted) {
+            Thread.currentThread().interrupt();
+         }
+         metrics.awaitingCipher.add(-filled.size());
+         metrics.awaitingWrite.add(-ciphered.size());
+         for (Batch batch : reorder) {
+            if (batch != null) {
+               metrics.awaitingWrite.decrement();
+            }
+         }
+         current = null;
+         long[] stall = {empty.takeStall(), filled.takeStall(), ciphered.takeStall()};
+         for (Stage stage : Stage.values()) {
+            stalls[stage.ordinal()].add(stall[stage.ordinal()]);
+            metrics.stalls[stage.ordinal()].add(stall[stage.ordinal()]);
+         }
+      }
+
+      /** Records a problem met while stopping, as the failure or alongside the one already recorded. */
+      void report(IOException problem) {
+         if (!failure.compareAndSet(null, problem)) {
+            failure.get().addSuppressed(problem);
+         }
+      }
+
+      /**
+      *  Waits for a thread to end, however often the calling thread is interrupted.
+      *
+      *  @param thread the thread to wait for
+      *  @param timeout the most milliseconds to wait, or zero to wait for as long as it takes
+      *  @return {@code true} if the calling thread was interrupted while waiting, otherwise {@code false}
+      */
+      boolean join(Thread thread, long timeout) {
+         boolean isInterrupted = false;
+         long deadline = System.nanoTime() + timeout * 1_000_000;
+         while (thread.isAlive()) {
+            long left = timeout == 0 ? 0 : (deadline - System.nanoTime()) / 1_000_000;
+            if (timeout != 0 && left <= 0) {
+               break;
+            }
+            try {
+               thread.join(left);
+            } catch (InterruptedException e) {
+               isInterrupted = true;
+            }
+         }
+         return isInterrupted;
+      }
+   }
+
+   /** Where the reader takes its lines from. */
+   private interface Source {
+      void read(Job job) throws IOException, InterruptedException;
+   }
+
+   /**
+   *  Encrypts every line of a file, read through memory-mapped windows, and writes the ciphertext into a stream.
+   *
+   *  @param input a file of ASCII plaintext
+   *  @param output the stream to receive the ciphertext
+   *  @param key a compiled keyword
+   *  @param progress the receiver of the progress, called on the calling thread, or {@code null}
+   *  @throws IOException if the file cannot be read, the stream cannot be written, or the thread is interrupted
+   */
+   public void encipher(Path input, OutputStream output, CompiledKey key, ParallelCipher.Progress progress)
+         throws IOException {
+      process(job -> job.read(input), null, output, key, true, progress);
+   }
+
+   /**
+   *  Decrypts every line of a file, read through memory-mapped windows, and writes the plaintext into a stream.
+   *
+   *  @param input a file of ASCII ciphertext
+   *  @param output the stream to receive the plaintext
+   *  @param key a compiled keyword
+   *  @param progress the receiver of the progress, called on the calling thread, or {@code null}
+   *  @throws IOException if the file cannot be read, the stream cannot be written, or the thread is interrupted
+   */
+   public void decipher(Path input, OutputStream output, CompiledKey key, ParallelCipher.Progress progress)
+         throws IOException {
+      process(job -> job.read(input), null, output, key, false, progress);
+   }
+
+   /**
+   *  Encrypts every line of a stream and writes the ciphertext, one line per line, into another.
+   *
+   *  @param input a stream of ASCII plaintext, closed under the reader if the job stops while it is blocked
+   *  @param output the stream to receive the ciphertext
+   *  @param key a compiled keyword
+   *  @throws IOException if a stream cannot be read or written, or the thread is interrupted
+   */
+   public void encipher(InputStream input, OutputStream output, CompiledKey key) throws IOException {
+      process(job -> job.read(input), input, output, key, true, null);
+   }
+
+   /**
+   *  Decrypts every line of a stream and writes the plaintext, one line per line, into another.
+   *
+   *  @param input a stream of ASCII ciphertext, closed under the reader if the job stops while it is blocked
+   *  @param output the stream to receive the plaintext
+   *  @param key a compiled keyword
+   *  @throws IOException if a stream cannot be read or written, or the thread is interrupted
+   */
+   public void decipher(InputStream input, OutputStream output, CompiledKey key) throws IOException {
+      process(job -> job.read(input), input, output, key, false, null);
+   }
+
+   private synchronized void process(Source source, Closeable input, OutputStream output, CompiledKey key,
+                                     boolean isEncipher, ParallelCipher.Progress progress) throws IOException {
+      Job job;
+      try {
+         job = new Job(key, isEncipher, input);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException("Interrupted before the job started.");
+      }
+      current = job;
+      try {
+         job.run(source, output, progress);
+      } finally {
+         current = null;
+      }
+   }
+
+   /**
+   *  Returns the number of batches waiting for a stage right now.
+   *
+   *  @param stage a stage of the pipeline
+   *  @return depth the number of batches queued in front of the stage, or zero between jobs
+   */
+   public int depth(Stage stage) {
+      Job job = current;
+      if (job == null) {
+         return 0;
+      }
+      switch (stage) {
+         case READ: return job.empty.size();
+         case CIPHER: return job.filled.size();
+         default: return job.ciphered.size();
+      }
+   }
+
+   /**
+   *  Returns the time a stage has spent waiting for work, over every job so far, including the current one.
+   *
+   *  @param stage a stage of the pipeline
+   *  @return stall the stall time, in nanoseconds
+   */
+   public long stall(Stage stage) {
+      long stall = stalls[stage.ordinal()].sum();
+      Job job = current;
+      if (job != null) {
+         switch (stage) {
+            case READ: stall += job.empty.takeStall(); break;
+            case CIPHER: stall += job.filled.takeStall(); break;
+            default: stall += job.ciphered.takeStall(); break;
+         }
+      }
+      return stall;
+   }
+
+   /**
+   *  Returns the number of batches in the pipeline.
+   *
+   *  @return the depth of the pipeline
+   */
+   public int capacity() {
+      return batches.length;
+   }
+
+   /**
+   *  Returns the number of threads ciphering batches.
+   *
+   *  @return workers the number of workers
+   */
+   public int workers() {
+      return workers;
+   }
+}
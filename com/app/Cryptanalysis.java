@@ -0,0 +1,133 @@
+/*
+*  File Name: Cryptanalysis.java
+*  Dependencies: QuadgramAttack.java and Quadgrams.java
+*
+*  A command-line ciphertext-only audit: trains quadgram statistics on a corpus, deciphers a file without its keyword,
+*  and prints the keyword class found, the decryption, and how fast the candidates were scored.
+*
+*  Usage:
+*     java -cp CaesarMyszkowski.jar com.app.Cryptanalysis [options] CIPHERTEXT
+*
+*  Options:
+*     -t N     the number of threads climbing (default: the number of processors)
+*     -r N     the number of restarts for every shift and keyword length (default: 32)
+*     -c FILE  a file of plaintext to train on, repeatable (default: every .txt file in files/plaintexts)
+*
+*  Notes:
+*  - The bundled plaintexts are only a few thousand letters; a larger corpus in the same language
+*    makes short ciphertexts fall faster and more reliably.
+*  - Reports the attack on standard output and every error, naming the option or file at fault, on standard error.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ciphers.QuadgramAttack;
+import com.ciphers.Quadgrams;
+
+/** A ciphertext-only keyword search. */
+public final class Cryptanalysis {
+
+   private static final String USAGE = "Usage: com.app.Cryptanalysis [-t N] [-r N] [-c FILE]... CIPHERTEXT";
+
+   private static final Path DEFAULT_CORPUS = Paths.get("files", "plaintexts");
+
+   private Cryptanalysis() {
+   }
+
+   /**
+   *  Runs the command line.
+   *
+   *  @param args the command-line arguments
+   *  @param out the stream to report the attack on
+   *  @param err the stream to report errors on
+   *  @return the exit status: zero if a keyword was found, one if none was or a file failed, two on a usage error
+   */
+   static int run(String[] args, PrintStream out, PrintStream err) {
+      int threads = Runtime.getRuntime().availableProcessors(), restarts = QuadgramAttack.DEFAULT_RESTARTS;
+      List<Path> corpus = new ArrayList<>();
+      int index = 0;
+      try {
+         for (; index < args.length - 1 && args[index].startsWith("-"); index += 2) {
+            String option = args[index];
+            String value = args[index + 1];
+            switch (option) {
+               case "-t": threads = Headless.number(option, value, 1); break;
+               case "-r": restarts = Headless.number(option, value, 1); break;
+               case "-c": corpus.add(Paths.get(value)); break;
+               default: throw new IllegalArgumentException("Unknown option " + option + ".");
+            }
+         }
+         if (args.length - index != 1) {
+            throw new IllegalArgumentException("Expected one file of ciphertext.");
+         }
+      } catch (IllegalArgumentException e) {
+         err.println(e.getMessage());
+         err.println(USAGE);
+         return 2;
+      }
+      List<String> ciphertext;
+      Quadgrams model;
+      try {
+         if (corpus.isEmpty()) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(DEFAULT_CORPUS, "*.txt")) {
+               for (Path entry : entries) {
+                  corpus.add(entry);
+               }
+            }
+         }
+         model = new Quadgrams(corpus);
+      } catch (IOException | IllegalArgumentException e) {
+         err.println("Cannot read the corpus " + (corpus.isEmpty() ? DEFAULT_CORPUS : corpus) + ": " + e);
+         return 1;
+      }
+      try {
+         ciphertext = Files.readAllLines(Paths.get(args[index]), StandardCharsets.ISO_8859_1);
+      } catch (IOException e) {
+         err.println("Cannot read the ciphertext " + args[index] + ": " + e);
+         return 1;
+      }
+      long start = System.nanoTime();
+      QuadgramAttack.Result result;
+      long scored, climbed;
+      try (QuadgramAttack attack = new QuadgramAttack(model, threads, restarts, QuadgramAttack.DEFAULT_PATIENCE,
+                                                       System.nanoTime())) {
+         result = attack.attack(ciphertext);
+         scored = attack.scored();
+         climbed = attack.restarts();
+      } catch (IllegalArgumentException e) {
+         err.println(args[index] + ": " + e.getMessage());
+         return 2;
+      }
+      double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+      out.printf("%d quadgrams trained on, %d restart(s), %d candidate keywords scored in %.3f s (%.0f per second)%n",
+         model.total(), climbed, scored, seconds, scored / seconds);
+      if (result == null) {
+         out.println("No valid keyword found.");
+         return 1;
+      }
+      out.println(result);
+      out.println();
+      for (String line : result.plaintext()) {
+         out.println(line);
+      }
+      return 0;
+   }
+
+   /** Executes the program on the command line. */
+   public static void main(String[] args) {
+      System.exit(run(args, System.out, System.err));
+   }
+}
@@ -0,0 +1,298 @@
+/*
+*  File Name: FanOutCipher.java
+*  Dependencies: CaesarMyszkowski.java, CompiledKey.java, MappedLineReader.java and CipherMetrics.java
+*
+*  Ciphers one file under many keywords at once, writing one output per keyword.
+*  The file is read and split into lines once, and the letters of each batch of lines are extracted once;
+*  every keyword then ciphers the same extracted letters in parallel, so the input side is paid for a single time.
+*
+*  Notes:
+*  - A batch is a fork-join task that extracts its letters and then forks one task per keyword.
+*  - Batches are written back in their original order, each output byte for byte the same as ciphering alone.
+*  - At most twice as many batches as there are threads are held in memory at any time, each with one output per keyword.
+*  - Each running keyword task borrows an engine, with its cache of transpositions, from this cipher's own pool
+*    and returns it once done, so the caches go away with the cipher rather than staying on the pool's threads.
+*  - Counts every line, letter and byte once per keyword, as if each keyword had read the file on its own.
+*  - Reports its counters and per-batch latencies to the process-wide {@code CipherMetrics} MBean.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+import com.assets.MappedLineReader;
+import com.ciphers.CaesarMyszkowski;
+import com.ciphers.CompiledKey;
+import com.ciphers.PlanCache;
+
+/** A line-parallel Caesar-Myszkowski cipher of one input under many keywords. */
+public class FanOutCipher implements Closeable {
+
+   private final ForkJoinPool pool;
+   private final int parallelism;
+   private final int batchSize;
+   private final ConcurrentLinkedDeque<CaesarMyszkowski> engines = new ConcurrentLinkedDeque<>();
+   private final CipherMetrics metrics = CipherMetrics.shared();
+
+   /** Constructs a {@code FanOutCipher} on every available processor. */
+   public FanOutCipher() {
+      this(Runtime.getRuntime().availableProcessors(), ParallelCipher.DEFAULT_BATCH_SIZE);
+   }
+
+   /**
+   *  Constructs a {@code FanOutCipher} on a fork-join pool of its own.
+   *
+   *  @param parallelism the number of threads
+   *  @param batchSize the number of lines in a batch
+   */
+   public FanOutCipher(int parallelism, int batchSize) {
+      if (parallelism < 1 || batchSize < 1) {
+         throw new IllegalArgumentException("The parallelism and batch size must be at least one.");
+      }
+      this.pool = new ForkJoinPool(parallelism);
+      this.parallelism = parallelism;
+      this.batchSize = batchSize;
+      for (int i = 0; i < parallelism; i++) {
+         engines.push(new CaesarMyszkowski());
+      }
+   }
+
+   /** A batch of lines sliced out of a mapped window, with its letters and one output per keyword. */
+   @SuppressWarnings("serial")
+   private class Batch extends RecursiveTask<Batch> {
+      final boolean isEncipher;
+      final CompiledKey[] keys;
+      ByteBuffer mapped;
+      int[] start = new int[batchSize];
+      int[] end = new int[batchSize];
+      int lines, size;
+      byte[] letters;
+      int[] first, count;
+      byte[][] outputs;
+      int outputSize;
+      final long created = System.nanoTime();
+
+      Batch(boolean isEncipher, CompiledKey[] keys) {
+         this.isEncipher = isEncipher;
+         this.keys = keys;
+      }
+
+      boolean add(ByteBuffer window, int offset, int length) {
+         if (mapped != window) {
+            if (lines > 0) {
+               return false;
+            }
+            mapped = window;
+         }
+         start[lines] = offset;
+         end[lines++] = offset + length;
+         size += length;
+         return true;
+      }
+
+      boolean isFull() {
+         return lines == end.length;
+      }
+
+      @Override
+      protected Batch compute() {
+         long began = System.nanoTime();
+         letters = new byte[size];
+         first = new int[lines];
+         count = new int[lines];
+         int total = 0;
+         for (int i = 0; i < lines; i++) {
+            first[i] = total;
+            count[i] = CaesarMyszkowski.letters(mapped, start[i], end[i] - start[i], letters, total);
+            total += count[i];
+         }
+         mapped = null;
+         outputSize = total + lines;
+         outputs = new byte[keys.length][];
+         Slice[] slices = new Slice[keys.length];
+         for (int k = 0; k < keys.length; k++) {
+            slices[k] = new Slice(this, k);
+         }
+         invokeAll(slices);
+         letters = null;
+         metrics.lines.add((long) lines * keys.length);
+         metrics.letters.add((long) total * keys.length);
+         metrics.bytesIn.add((long) size * keys.length);
+         metrics.cipher.record(System.nanoTime() - began);
+         return this;
+      }
+   }
+
+   /** The lines of one batch ciphered under one of the keywords. */
+   @SuppressWarnings("serial")
+   private class Slice extends RecursiveAction {
+      final Batch batch;
+      final int index;
+
+      Slice(Batch batch, int index) {
+         this.batch = batch;
+         this.index = index;
+      }
+
+      @Override
+      protected void compute() {
+         // The most recently returned engine is taken first, as its cache is the likeliest to be warm.
+         CaesarMyszkowski engine = engines.poll();
+         if (engine == null) {
+            engine = new CaesarMyszkowski();
+         }
+         PlanCache cache = engine.cache();
+         long hits = cache.hits(), misses = cache.misses();
+         try {
+            CompiledKey key = batch.keys[index];
+            byte[] output = new byte[batch.outputSize];
+            int to = 0;
+            for (int i = 0; i < batch.lines; i++) {
+               if (batch.isEncipher) {
+                  engine.encipherLetters(batch.letters, batch.first[i], batch.count[i], output, to, key);
+               }
+               else {
+                  engine.decipherLetters(batch.letters, batch.first[i], batch.count[i], output, to, key);
+               }
+               to += batch.count[i];
+               output[to++] = '\n';
+            }
+            batch.outputs[index] = output;
+            metrics.hits.add(cache.hits() - hits);
+            metrics.misses.add(cache.misses() - misses);
+         } finally {
+            engines.push(engine);
+         }
+      }
+   }
+
+   /**
+   *  Encrypts every line of a file, read once through memory-mapped windows, under each of several keywords.
+   *
+   *  @param input a file of ASCII plaintext
+   *  @param outputs the streams to receive the ciphertext, one per keyword
+   *  @param keys the compiled keywords
+   *  @throws IOException if the file cannot be mapped or a stream cannot be written
+   */
+   public void encipher(Path input, List<? extends OutputStream> outputs, List<CompiledKey> keys) throws IOException {
+      process(input, outputs, keys, true);
+   }
+
+   /**
+   *  Decrypts every line of a file, read once through memory-mapped windows, under each of several keywords.
+   *
+   *  @param input a file of ASCII ciphertext
+   *  @param outputs the streams to receive the plaintext, one per keyword
+   *  @param keys the compiled keywords
+   *  @throws IOException if the file cannot be mapped or a stream cannot be written
+   */
+   public void decipher(Path input, List<? extends OutputStream> outputs, List<CompiledKey> keys) throws IOException {
+      process(input, outputs, keys, false);
+   }
+
+   private void process(Path input, List<? extends OutputStream> outputs, List<CompiledKey> keys,
+                        boolean isEncipher) throws IOException {
+      if (outputs.size() != keys.size() || keys.isEmpty()) {
+         throw new IllegalArgumentException("There must be one output for each of at least one keyword.");
+      }
+      CompiledKey[] compiled = keys.toArray(new CompiledKey[0]);
+      ArrayDeque<ForkJoinTask<Batch>> pending = new ArrayDeque<>();
+      Batch batch = new Batch(isEncipher, compiled);
+      try (MappedLineReader reader = new MappedLineReader(input)) {
+         int length = reader.readLine();
+         while (length != -1) {
+            if (Thread.currentThread().isInterrupted()) {
+               throw new InterruptedIOException("The job was interrupted.");
+            }
+            if (!batch.add(reader.buffer(), reader.offset(), length)) {
+               submit(batch, pending, outputs);
+               batch = new Batch(isEncipher, compiled);
+               batch.add(reader.buffer(), reader.offset(), length);
+            }
+            if (batch.isFull()) {
+               submit(batch, pending, outputs);
+               batch = new Batch(isEncipher, compiled);
+            }
+            length = reader.readLine();
+         }
+         if (batch.lines > 0) {
+            submit(batch, pending, outputs);
+         }
+         while (!pending.isEmpty()) {
+            write(pending.poll(), outputs);
+         }
+      } finally {
+         for (ForkJoinTask<Batch> task : pending) {
+            task.cancel(true);
+         }
+      }
+   }
+
+   private void submit(Batch batch, ArrayDeque<ForkJoinTask<Batch>> pending, List<? extends OutputStream> outputs)
+         throws IOException {
+      metrics.read.record(System.nanoTime() - batch.created);
+      if (pending.size() == 2 * parallelism) {
+         write(pending.poll(), outputs);
+      }
+      pending.offer(pool.submit(batch));
+   }
+
+   private void write(ForkJoinTask<Batch> task, List<? extends OutputStream> outputs) throws IOException {
+      Batch batch;
+      try {
+         batch = task.get();
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException("Interrupted while waiting for a batch.");
+      } catch (ExecutionException e) {
+         throw new IOException("A batch could not be ciphered.", e.getCause());
+      }
+      long began = System.nanoTime();
+      for (int k = 0; k < batch.outputs.length; k++) {
+         outputs.get(k).write(batch.outputs[k], 0, batch.outputSize);
+      }
+      metrics.write.record(System.nanoTime() - began);
+      metrics.bytesOut.add((long) batch.outputSize * batch.outputs.length);
+   }
+
+   /**
+   *  Returns the number of threads ciphering.
+   *
+   *  @return parallelism the number of threads
+   */
+   public int parallelism() {
+      return parallelism;
+   }
+
+   /**
+   *  Returns the number of lines in a batch.
+   *
+   *  @return batchSize the number of lines in a batch
+   */
+   public int batchSize() {
+      return batchSize;
+   }
+
+   /** Shuts down the fork-join pool. */
+   @Override
+   public void close() {
+      pool.shutdown();
+   }
+}
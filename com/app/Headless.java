@@ -0,0 +1,424 @@
+/*
+*  File Name: Headless.java
+*  Dependencies: ParallelCipher.java, FanOutCipher.java, BlockCipher.java, CompiledKey.java and GatherWriter.java
+*
+*  A command-line entry point of the Caesar-Myszkowski cipher for servers without a display.
+*  Walks every given file, directory and glob in parallel and ciphers the matching files on a bounded pool of workers,
+*  printing the throughput of each file and of the whole run.
+*
+*  Usage:
+*     java -cp CaesarMyszkowski.jar com.app.Headless [options] encipher|decipher KEYWORD[,KEYWORD...] INPUT...
+*
+*  Options:
+*     -o DIR   the directory to write into (default: ./enciphered or ./deciphered)
+*     -j N     the number of files ciphered at once (default: the number of processors)
+*     -t N     the number of threads ciphering lines (default: the number of processors)
+*     -b N     the number of lines in a batch (default: 4096)
+*     -s N     transposes the whole file in streaming blocks of N letters instead of line by line;
+*              N must be a multiple of the keyword's length
+*
+*  Notes:
+*  - A directory contributes every .txt file beneath it, and a glob every file it matches.
+*  - Several comma-separated keywords read each file once and write one copy per keyword, under DIR/KEYWORD.
+*  - Streaming block mode keeps memory bounded for files with very long lines, but is not line-parallel.
+*  - Reports throughput on standard output and every error, naming the option or file at fault, on standard error.
+*  - Never loads the graphical user interface, hence runs without AWT.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.assets.GatherWriter;
+import com.ciphers.BlockCipher;
+import com.ciphers.CompiledKey;
+
+/** A headless batch cipher. */
+public final class Headless {
+
+   private static final String USAGE =
+      "Usage: com.app.Headless [-o DIR] [-j N] [-t N] [-b N] [-s N] encipher|decipher KEYWORD[,KEYWORD...] INPUT...";
+
+   private final boolean isEncipher;
+   private final List<CompiledKey> keys;
+   private final Path outputDirectory;
+   private final ParallelCipher engine;
+   private final FanOutCipher fanOut;
+   private final int blockSize;
+   private final ExecutorService workers;
+   private final PrintStream out;
+   private final PrintStream err;
+   private final List<Future<Boolean>> jobs = Collections.synchronizedList(new ArrayList<Future<Boolean>>());
+   private final AtomicLong bytes = new AtomicLong();
+
+   private Headless(boolean isEncipher, List<CompiledKey> keys, Path outputDirectory, ParallelCipher engine,
+                    FanOutCipher fanOut, int blockSize, ExecutorService workers, PrintStream out, PrintStream err) {
+      this.isEncipher = isEncipher;
+      this.keys = keys;
+      this.outputDirectory = outputDirectory;
+      this.engine = engine;
+      this.fanOut = fanOut;
+      this.blockSize = blockSize;
+      this.workers = workers;
+      this.out = out;
+      this.err = err;
+   }
+
+   /** Walks one directory, forking a task for each subdirectory. */
+   @SuppressWarnings("serial")
+   private class Walk extends RecursiveAction {
+      final Path root;
+      final Path directory;
+      final PathMatcher matcher;
+
+      Walk(Path root, Path directory, PathMatcher matcher) {
+         this.root = root;
+         this.directory = directory;
+         this.matcher = matcher;
+      }
+
+      @Override
+      protected void compute() {
+         List<Walk> children = new ArrayList<>();
+         try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+               if (Files.isDirectory(entry)) {
+                  if (!entry.toAbsolutePath().normalize().equals(outputDirectory.toAbsolutePath().normalize())) {
+                     children.add(new Walk(root, entry, matcher));
+                  }
+               }
+               else if (Files.isRegularFile(entry) && matcher.matches(entry)) {
+                  submit(entry, outputDirectory.resolve(root.relativize(entry).toString()));
+               }
+            }
+         } catch (IOException e) {
+            err.println("Cannot read " + directory + ": " + e.getMessage());
+         }
+         invokeAll(children);
+      }
+   }
+
+   /**
+   *  Queues a file on the pool of workers.
+   *
+   *  @param input the file to cipher
+   *  @param output the file to write
+   */
+   private void submit(final Path input, final Path output) {
+      jobs.add(workers.submit(() -> cipher(input, output)));
+   }
+
+   /**
+   *  Ciphers one file and prints its throughput.
+   *
+   *  @param input the file to cipher
+   *  @param output the file to write
+   *  @return {@code true} if the file was ciphered, otherwise {@code false}
+   */
+   private boolean cipher(Path input, Path output) {
+      if (keys.size() > 1) {
+         return fanOut(input, output);
+      }
+      if (input.toAbsolutePath().normalize().equals(output.toAbsolutePath().normalize())) {
+         err.println("Cannot overwrite the same file: " + input);
+         return false;
+      }
+      CompiledKey key = keys.get(0);
+      long start = System.nanoTime();
+      GatherWriter writer = null;
+      try {
+         Files.createDirectories(output.toAbsolutePath().getParent());
+         writer = new GatherWriter(output, GatherWriter.DEFAULT_BUFFER_SIZE, GatherWriter.DEFAULT_BUFFERS,
+            GatherWriter.Sync.NONE, true);
+         if (blockSize > 0) {
+            BlockCipher cipher = new BlockCipher(key, blockSize);
+            try (InputStream stream = Files.newInputStream(input)) {
+               if (isEncipher) {
+                  cipher.encipher(stream, writer);
+               }
+               else {
+                  cipher.decipher(stream, writer);
+               }
+            }
+         }
+         else if (isEncipher) {
+            engine.encipher(input, writer, key);
+         }
+         else {
+            engine.decipher(input, writer, key);
+         }
+         writer.close();
+      } catch (IOException | RuntimeException e) {
+         if (writer != null) {
+            abort(writer, output);
+         }
+         err.println("Failed " + input + ": " + e);
+         return false;
+      }
+      long size = sizeOf(input);
+      bytes.addAndGet(size);
+      out.printf("%s -> %s  %d bytes in %.3f s (%.1f MB/s)%n", input, output, size,
+         seconds(start), size / 1e6 / seconds(start));
+      return true;
+   }
+
+   /**
+   *  Ciphers one file under every keyword, reading it once, and prints its throughput.
+   *
+   *  @param input the file to cipher
+   *  @param output the file to write, relative to the output directory, under each keyword's own directory
+   *  @return {@code true} if every copy was ciphered, otherwise {@code false}
+   */
+   private boolean fanOut(Path input, Path output) {
+      Path relative = outputDirectory.relativize(output);
+      List<Path> outputs = new ArrayList<>();
+      for (CompiledKey key : keys) {
+         Path copy = outputDirectory.resolve(key.keyword()).resolve(relative);
+         if (input.toAbsolutePath().normalize().equals(copy.toAbsolutePath().normalize())) {
+            err.println("Cannot overwrite the same file: " + input);
+            return false;
+         }
+         outputs.add(copy);
+      }
+      long start = System.nanoTime();
+      List<GatherWriter> writers = new ArrayList<>();
+      try {
+         for (Path copy : outputs) {
+            Files.createDirectories(copy.toAbsolutePath().getParent());
+            writers.add(new GatherWriter(copy, GatherWriter.DEFAULT_BUFFER_SIZE, GatherWriter.DEFAULT_BUFFERS,
+               GatherWriter.Sync.NONE, true));
+         }
+         if (isEncipher) {
+            fanOut.encipher(input, writers, keys);
+         }
+         else {
+            fanOut.decipher(input, writers, keys);
+         }
+         for (GatherWriter writer : writers) {
+            writer.close();
+         }
+      } catch (IOException | RuntimeException e) {
+         for (int i = 0; i < writers.size(); i++) {
+            abort(writers.get(i), outputs.get(i));
+         }
+         err.println("Failed " + input + ": " + e);
+         return false;
+      }
+      long size = sizeOf(input);
+      bytes.addAndGet(size);
+      out.printf("%s -> %d copies under %s  %d bytes in %.3f s (%.1f MB/s read)%n", input, outputs.size(),
+         outputDirectory, size, seconds(start), size / 1e6 / seconds(start));
+      return true;
+   }
+
+   /**
+   *  Deletes the partial output of a failed file, reporting if even that fails.
+   *
+   *  @param writer the writer of the output
+   *  @param output the file written
+   */
+   private void abort(GatherWriter writer, Path output) {
+      try {
+         writer.abort();
+      } catch (IOException e) {
+         err.println("Cannot delete the partial output " + output + ": " + e);
+      }
+   }
+
+   /**
+   *  Expands a command-line argument into files, walking directories and globs in parallel.
+   *
+   *  @param argument a file, a directory or a glob
+   *  @param walker the pool to walk directories on
+   */
+   private void expand(String argument, ForkJoinPool walker) {
+      int glob = firstGlobCharacter(argument);
+      if (glob >= 0) {
+         int slash = Math.max(argument.lastIndexOf('/', glob), argument.lastIndexOf('\\', glob));
+         Path root = Paths.get(slash < 0 ? "." : argument.substring(0, slash + 1));
+         String pattern = slash < 0 ? root.resolve(argument).toString() : argument;
+         PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+         walker.invoke(new Walk(root, root, matcher));
+      }
+      else {
+         Path path = Paths.get(argument);
+         if (Files.isDirectory(path)) {
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:**.txt");
+            walker.invoke(new Walk(path, path, matcher));
+         }
+         else if (Files.isRegularFile(path)) {
+            submit(path, outputDirectory.resolve(path.getFileName().toString()));
+         }
+         else {
+            err.println("No such file or directory: " + argument);
+         }
+      }
+   }
+
+   private static int firstGlobCharacter(String argument) {
+      for (int i = 0; i < argument.length(); i++) {
+         if ("*?[{".indexOf(argument.charAt(i)) >= 0) {
+            return i;
+         }
+      }
+      return -1;
+   }
+
+   private static long sizeOf(Path path) {
+      try {
+         return Files.size(path);
+      } catch (IOException e) {
+         return 0;
+      }
+   }
+
+   private static double seconds(long start) {
+      return Math.max(System.nanoTime() - start, 1) / 1e9;
+   }
+
+   /**
+   *  Reads the value of a numeric option.
+   *
+   *  @param option the option, such as {@code -j}
+   *  @param value the value given to it
+   *  @param least the smallest value allowed
+   *  @return number the value
+   *  @throws IllegalArgumentException if the value is not a whole number of at least {@code least}
+   */
+   static int number(String option, String value, int least) {
+      int number;
+      try {
+         number = Integer.parseInt(value);
+      } catch (NumberFormatException e) {
+         throw new IllegalArgumentException("The option " + option + " needs a whole number, not " + value + ".");
+      }
+      if (number < least) {
+         throw new IllegalArgumentException("The option " + option + " must be at least " + least
+            + ", not " + value + ".");
+      }
+      return number;
+   }
+
+   /**
+   *  Runs the command line.
+   *
+   *  @param args the command-line arguments
+   *  @param out the stream to report the throughput on
+   *  @param err the stream to report errors on
+   *  @return the exit status: zero on success, one if a file failed, two on a usage error
+   */
+   static int run(String[] args, PrintStream out, PrintStream err) {
+      int processors = Runtime.getRuntime().availableProcessors();
+      int files = processors, threads = processors, batch = ParallelCipher.DEFAULT_BATCH_SIZE, block = 0;
+      String directory = null;
+      int index = 0;
+      boolean isEncipher;
+      List<CompiledKey> keys = new ArrayList<>();
+      try {
+         for (; index < args.length && args[index].startsWith("-"); index += 2) {
+            String option = args[index];
+            if (index + 1 == args.length) {
+               throw new IllegalArgumentException("The option " + option + " needs a value.");
+            }
+            String value = args[index + 1];
+            switch (option) {
+               case "-o": directory = value; break;
+               case "-j": files = number(option, value, 1); break;
+               case "-t": threads = number(option, value, 1); break;
+               case "-b": batch = number(option, value, 1); break;
+               case "-s": block = number(option, value, 0); break;
+               default: throw new IllegalArgumentException("Unknown option " + option + ".");
+            }
+         }
+         if (args.length - index < 3) {
+            throw new IllegalArgumentException("Expected encipher or decipher, a keyword and at least one input.");
+         }
+         if (!args[index].matches("encipher|decipher")) {
+            throw new IllegalArgumentException("Expected encipher or decipher, not " + args[index] + ".");
+         }
+         isEncipher = args[index].equals("encipher");
+         for (String keyword : args[index + 1].split(",")) {
+            String problem = CompiledKey.validate(keyword);
+            if (problem != null) {
+               throw new IllegalArgumentException("Invalid keyword " + keyword + ": " + problem);
+            }
+            keys.add(new CompiledKey(keyword));
+            if (block % keyword.length() != 0) {
+               throw new IllegalArgumentException("The option -s " + block + " is not a multiple of the length of "
+                  + keyword + ", which is " + keyword.length() + ".");
+            }
+         }
+         if (block > 0 && keys.size() > 1) {
+            throw new IllegalArgumentException("The option -s cannot be used with several keywords.");
+         }
+      } catch (IllegalArgumentException e) {
+         err.println(e.getMessage());
+         err.println(USAGE);
+         return 2;
+      }
+      if (directory == null) {
+         directory = isEncipher ? "enciphered" : "deciphered";
+      }
+      Path outputDirectory = Paths.get(directory);
+      long start = System.nanoTime();
+      int failed = 0;
+      ExecutorService workers = Executors.newFixedThreadPool(files);
+      ForkJoinPool walker = new ForkJoinPool(Math.min(files, processors));
+      try (ParallelCipher engine = new ParallelCipher(threads, batch);
+           FanOutCipher fanOut = new FanOutCipher(threads, batch)) {
+         Headless headless = new Headless(isEncipher, keys, outputDirectory, engine, fanOut, block, workers, out, err);
+         for (int i = index + 2; i < args.length; i++) {
+            headless.expand(args[i], walker);
+         }
+         List<Future<Boolean>> jobs;
+         synchronized (headless.jobs) {
+            jobs = new ArrayList<>(headless.jobs);
+         }
+         for (Future<Boolean> job : jobs) {
+            try {
+               if (!job.get()) {
+                  failed++;
+               }
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               return 1;
+            } catch (ExecutionException e) {
+               failed++;
+            }
+         }
+         long total = headless.bytes.get();
+         out.printf("%d file(s), %d failed, %d bytes in %.3f s (%.1f MB/s)%n", jobs.size(), failed, total,
+            seconds(start), total / 1e6 / seconds(start));
+      } finally {
+         walker.shutdown();
+         workers.shutdown();
+      }
+      return failed == 0 ? 0 : 1;
+   }
+
+   /** Executes the program on the command line. */
+   public static void main(String[] args) {
+      System.exit(run(args, System.out, System.err));
+   }
+}
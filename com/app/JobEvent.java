@@ -0,0 +1,42 @@
+/*
+*  File Name: JobEvent.java
+*
+*  A flight recorder event spanning one file or stream ciphered by {@code ParallelCipher}.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A file or stream ciphered from start to end. */
+@Name("com.app.Job")
+@Label("Cipher Job")
+@Category("Caesar-Myszkowski")
+@Description("A file or stream ciphered line by line")
+class JobEvent extends Event {
+
+   @Label("Source")
+   @Description("The file read, or stream if the input was a stream")
+   String source;
+
+   @Label("Direction")
+   String direction;
+
+   @Label("Key Length")
+   int keyLength;
+
+   @Label("Lines")
+   long lines;
+
+   @Label("Bytes")
+   @DataAmount
+   long bytes;
+}
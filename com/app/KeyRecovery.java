@@ -0,0 +1,99 @@
+/*
+*  File Name: KeyRecovery.java
+*  Dependencies: KeySearch.java
+*
+*  A command-line key-recovery audit: given a known line of plaintext and the same line enciphered,
+*  prints every class of valid keywords that produces it, the keywords themselves, and how fast they were found.
+*
+*  Usage:
+*     java -cp CaesarMyszkowski.jar com.app.KeyRecovery [options] PLAINTEXT CIPHERTEXT
+*
+*  Options:
+*     -t N     the number of threads searching (default: the number of processors)
+*     -n N     the number of keywords printed per class (default: 20, or -1 for all of them)
+*
+*  Notes:
+*  - The longer the known line, the fewer classes survive; a line at least twice the keyword's length
+*    usually leaves a single pattern.
+*  - Keywords longer than the known line are not searched, so the line needs at least five letters.
+*  - Reports the search on standard output and every error, naming the option or argument at fault, on standard error.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.io.PrintStream;
+import java.util.List;
+
+import com.ciphers.KeySearch;
+
+/** A known-plaintext keyword search. */
+public final class KeyRecovery {
+
+   private static final String USAGE = "Usage: com.app.KeyRecovery [-t N] [-n N] PLAINTEXT CIPHERTEXT";
+
+   private KeyRecovery() {
+   }
+
+   /**
+   *  Runs the command line.
+   *
+   *  @param args the command-line arguments
+   *  @param out the stream to report the search on
+   *  @param err the stream to report errors on
+   *  @return the exit status: zero if a keyword was found, one if none was, two on a usage error
+   */
+   static int run(String[] args, PrintStream out, PrintStream err) {
+      int threads = Runtime.getRuntime().availableProcessors(), limit = 20;
+      int index = 0;
+      long start;
+      List<KeySearch.Match> matches;
+      long tested;
+      try {
+         for (; index < args.length - 2 && args[index].startsWith("-"); index += 2) {
+            String option = args[index];
+            String value = args[index + 1];
+            switch (option) {
+               case "-t": threads = Headless.number(option, value, 1); break;
+               case "-n": limit = Headless.number(option, value, -1); break;
+               default: throw new IllegalArgumentException("Unknown option " + option + ".");
+            }
+         }
+         if (args.length - index != 2) {
+            throw new IllegalArgumentException("Expected a known line of plaintext and the same line enciphered.");
+         }
+         start = System.nanoTime();
+         try (KeySearch search = new KeySearch(threads)) {
+            matches = search.search(args[index], args[index + 1]);
+            tested = search.tested();
+         }
+      } catch (IllegalArgumentException e) {
+         err.println(e.getMessage());
+         err.println(USAGE);
+         return 2;
+      }
+      double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+      long keywords = 0;
+      for (KeySearch.Match match : matches) {
+         keywords += match.keywords();
+      }
+      out.printf("%d candidate columns tested in %.3f s (%.0f per second)%n", tested, seconds, tested / seconds);
+      out.printf("%d class(es) and %d keyword(s) consistent with the input%n", matches.size(), keywords);
+      for (KeySearch.Match match : matches) {
+         out.println();
+         out.println(match);
+         KeySearch.keywords(match, limit < 0 ? Long.MAX_VALUE : limit, keyword -> out.println("   " + keyword));
+         if (limit >= 0 && match.keywords() > limit) {
+            out.println("   ... and " + (match.keywords() - limit) + " more");
+         }
+      }
+      return matches.isEmpty() ? 1 : 0;
+   }
+
+   /** Executes the program on the command line. */
+   public static void main(String[] args) {
+      System.exit(run(args, System.out, System.err));
+   }
+}
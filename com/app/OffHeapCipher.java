@@ -0,0 +1,199 @@
+/*
+*  File Name: OffHeapCipher.java
+*  Dependencies: CaesarMyszkowski.java, CompiledKey.java, MappedLineReader.java, GatherWriter.java and CipherMetrics.java
+*
+*  Ciphers text that lives outside the heap: a file read through memory-mapped windows into the direct buffers
+*  of a gather writer, or one direct buffer into another. Every letter is shifted and scattered buffer to buffer,
+*  so no line is ever copied into a heap array and the heap stays small however large the input is.
+*
+*  Notes:
+*  - The only heap memory in use is the compiled transposition of each line length and a few counters.
+*  - A line whose ciphertext does not fit in a writer's buffer is transposed into a mapped scratch file instead,
+*    which, unlike a direct buffer, does not count against the limit on direct memory.
+*  - Runs on the calling thread, one line after another; stops with an {@code InterruptedIOException}
+*    as soon as that thread is interrupted.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.assets.GatherWriter;
+import com.assets.MappedLineReader;
+import com.ciphers.CaesarMyszkowski;
+import com.ciphers.CompiledKey;
+
+/** A Caesar-Myszkowski cipher from mapped and direct memory to direct memory. */
+public class OffHeapCipher {
+
+   private final CaesarMyszkowski engine;
+   private final int window;
+   private final CipherMetrics metrics = CipherMetrics.shared();
+
+   /** Constructs an {@code OffHeapCipher} that maps files in windows of the default size. */
+   public OffHeapCipher() {
+      this(MappedLineReader.DEFAULT_WINDOW);
+   }
+
+   /**
+   *  Constructs an {@code OffHeapCipher} that maps files in windows of a certain size.
+   *
+   *  @param window the number of bytes of a file mapped at once
+   */
+   public OffHeapCipher(int window) {
+      if (window < 1) {
+         throw new IllegalArgumentException("The window must be at least one byte.");
+      }
+      this.engine = new CaesarMyszkowski();
+      this.window = window;
+   }
+
+   /**
+   *  Encrypts every line of a file, read through memory-mapped windows, straight into a writer's direct buffers.
+   *
+   *  @param input a file of ASCII plaintext
+   *  @param output the writer to receive the ciphertext, one line per line
+   *  @param key a compiled keyword
+   *  @return bytes the number of bytes written
+   *  @throws IOException if the file cannot be mapped, the writer cannot write, or the thread is interrupted
+   */
+   public long encipher(Path input, GatherWriter output, CompiledKey key) throws IOException {
+      return process(input, output, key, true);
+   }
+
+   /**
+   *  Decrypts every line of a file, read through memory-mapped windows, straight into a writer's direct buffers.
+   *
+   *  @param input a file of ASCII ciphertext
+   *  @param output the writer to receive the plaintext, one line per line
+   *  @param key a compiled keyword
+   *  @return bytes the number of bytes written
+   *  @throws IOException if the file cannot be mapped, the writer cannot write, or the thread is interrupted
+   */
+   public long decipher(Path input, GatherWriter output, CompiledKey key) throws IOException {
+      return process(input, output, key, false);
+   }
+
+   /**
+   *  Encrypts every line between a buffer's position and limit into another buffer, from its position.
+   *  Both positions are advanced past what was read and written.
+   *
+   *  @param source a buffer of ASCII plaintext, such as one allocated directly or mapped from a file
+   *  @param target the buffer to receive the ciphertext, one line per line
+   *  @param key a compiled keyword
+   *  @return bytes the number of bytes written
+   *  @throws BufferOverflowException if the target has no room for a line; both positions then stop before that line
+   */
+   public int encipher(ByteBuffer source, ByteBuffer target, CompiledKey key) {
+      return process(source, target, key, true);
+   }
+
+   /**
+   *  Decrypts every line between a buffer's position and limit into another buffer, from its position.
+   *  Both positions are advanced past what was read and written.
+   *
+   *  @param source a buffer of ASCII ciphertext, such as one allocated directly or mapped from a file
+   *  @param target the buffer to receive the plaintext, one line per line
+   *  @param key a compiled keyword
+   *  @return bytes the number of bytes written
+   *  @throws BufferOverflowException if the target has no room for a line; both positions then stop before that line
+   */
+   public int decipher(ByteBuffer source, ByteBuffer target, CompiledKey key) {
+      return process(source, target, key, false);
+   }
+
+   private long process(Path input, GatherWriter output, CompiledKey key, boolean isEncipher) throws IOException {
+      long lines = 0, read = 0, written = 0;
+      FileChannel scratch = null;
+      ByteBuffer spare = null;
+      try (MappedLineReader reader = new MappedLineReader(input, window)) {
+         for (int length = reader.readLine(); length != -1; length = reader.readLine()) {
+            if (Thread.currentThread().isInterrupted()) {
+               throw new InterruptedIOException("The job was interrupted.");
+            }
+            ByteBuffer target;
+            int to;
+            if (length < output.bufferSize()) {
+               target = output.claim(length + 1);
+               to = target.position();
+            }
+            else {
+               if (spare == null || spare.capacity() < length + 1) {
+                  if (scratch == null) {
+                     scratch = FileChannel.open(Files.createTempFile("cipher", ".tmp"), StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+                  }
+                  spare = scratch.map(FileChannel.MapMode.READ_WRITE, 0, length + 1L);
+               }
+               target = spare;
+               to = 0;
+            }
+            int count = cipher(reader.buffer(), reader.offset(), length, target, to, key, isEncipher);
+            target.put(to + count, (byte) '\n');
+            if (target == spare) {
+               spare.limit(count + 1).position(0);
+               output.write(spare);
+               spare.clear();
+            }
+            else {
+               output.commit(count + 1);
+            }
+            lines++;
+            read += length;
+            written += count + 1;
+         }
+      } finally {
+         if (scratch != null) {
+            scratch.close();
+         }
+      }
+      metrics.bytesIn.add(read);
+      metrics.lines.add(lines);
+      metrics.letters.add(written - lines);
+      metrics.bytesOut.add(written);
+      return written;
+   }
+
+   private int process(ByteBuffer source, ByteBuffer target, CompiledKey key, boolean isEncipher) {
+      int index = source.position(), limit = source.limit();
+      int written = 0;
+      while (index < limit) {
+         int end = index;
+         while (end < limit && source.get(end) != '\n' && source.get(end) != '\r') {
+            end++;
+         }
+         if (target.remaining() < end - index + 1) {
+            throw new BufferOverflowException();
+         }
+         int to = target.position();
+         int count = cipher(source, index, end - index, target, to, key, isEncipher);
+         target.put(to + count, (byte) '\n');
+         target.position(to + count + 1);
+         written += count + 1;
+         if (end < limit && source.get(end) == '\r' && end + 1 < limit && source.get(end + 1) == '\n') {
+            end++;
+         }
+         index = Math.min(end + 1, limit);
+         source.position(index);
+      }
+      return written;
+   }
+
+   private int cipher(ByteBuffer source, int offset, int length, ByteBuffer target, int to, CompiledKey key,
+                      boolean isEncipher) {
+      return isEncipher
+         ? engine.encipher(source, offset, length, target, to, key)
+         : engine.decipher(source, offset, length, target, to, key);
+   }
+}
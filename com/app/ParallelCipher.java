@@ -0,0 +1,453 @@
+/*
+*  File Name: ParallelCipher.java
+*  Dependencies: CaesarMyszkowski.java, CompiledKey.java, LineReader.java, MappedLineReader.java and CipherMetrics.java
+*
+*  Ciphers a stream of text in batches of lines on several threads at once.
+*  Every line is independent of the others, so batches are ciphered concurrently and
+*  written back in their original order, byte for byte the same as ciphering one line at a time.
+*
+*  Notes:
+*  - A file can be read through memory-mapped windows, in which case lines are ciphered in place without being copied.
+*  - At most twice as many batches as there are threads are held in memory at any time.
+*  - Each running batch borrows an engine, with its cache of transpositions, from this cipher's own pool and returns it
+*    once done, so the caches go away with the cipher rather than staying on the executor's threads.
+*  - Reports its counters and per-batch latencies to the process-wide {@code CipherMetrics} MBean.
+*  - Emits a {@code JobEvent} per file or stream and a {@code BatchEvent} per batch while a flight recording is running.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.assets.LineReader;
+import com.assets.MappedLineReader;
+import com.ciphers.CaesarMyszkowski;
+import com.ciphers.CompiledKey;
+import com.ciphers.PlanCache;
+
+/** A line-parallel Caesar-Myszkowski cipher. */
+public class ParallelCipher implements Closeable {
+
+   /** The number of lines in a batch by default. */
+   public static final int DEFAULT_BATCH_SIZE = 4096;
+
+   private final ExecutorService executor;
+   private final boolean isOwned;
+   private final int parallelism;
+   private final int batchSize;
+   private final ConcurrentLinkedDeque<CaesarMyszkowski> engines = new ConcurrentLinkedDeque<>();
+   private final CipherMetrics metrics = CipherMetrics.shared();
+
+   /** Constructs a {@code ParallelCipher} on every available processor. */
+   public ParallelCipher() {
+      this(Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+   }
+
+   /**
+   *  Constructs a {@code ParallelCipher} on a fork-join pool of its own.
+   *
+   *  @param parallelism the number of threads
+   *  @param batchSize the number of lines in a batch
+   */
+   public ParallelCipher(int parallelism, int batchSize) {
+      this(new ForkJoinPool(parallelism), true, parallelism, batchSize);
+   }
+
+   /**
+   *  Constructs a {@code ParallelCipher} on a certain executor, which is left running on {@link #close()}.
+   *
+   *  @param executor the executor to run batches on
+   *  @param parallelism the number of batches to run at once
+   *  @param batchSize the number of lines in a batch
+   */
+   public ParallelCipher(ExecutorService executor, int parallelism, int batchSize) {
+      this(executor, false, parallelism, batchSize);
+   }
+
+   private ParallelCipher(ExecutorService executor, boolean isOwned, int parallelism, int batchSize) {
+      if (parallelism < 1 || batchSize < 1) {
+         throw new IllegalArgumentException("The parallelism and batch size must be at least one.");
+      }
+      this.executor = executor;
+      this.isOwned = isOwned;
+      this.parallelism = parallelism;
+      this.batchSize = batchSize;
+      for (int i = 0; i < parallelism; i++) {
+         engines.push(new CaesarMyszkowski());
+      }
+   }
+
+   /** Receives the progress of a job each time a batch has been written. */
+   public interface Progress {
+      /**
+      *  Reports how far a job has come.
+      *
+      *  @param bytes the number of input bytes ciphered and written so far
+      *  @param lines the number of lines ciphered and written so far
+      */
+      void update(long bytes, long lines);
+   }
+
+   /** A batch of lines, either copied back to back into one array or sliced out of a mapped window. */
+   private class Batch implements Callable<Batch> {
+      final boolean isEncipher;
+      final CompiledKey key;
+      byte[] input;
+      ByteBuffer mapped;
+      int[] start = new int[batchSize];
+      int[] end = new int[batchSize];
+      int lines, size;
+      long position;
+      byte[] output;
+      int outputSize;
+      final long created = System.nanoTime();
+
+      Batch(boolean isEncipher, CompiledKey key) {
+         this.isEncipher = isEncipher;
+         this.key = key;
+      }
+
+      void add(byte[] line, int length) {
+         if (input == null) {
+            input = new byte[Math.max(65536, length)];
+         }
+         else if (size + length > input.length) {
+            input = Arrays.copyOf(input, Math.max(input.length * 2, size + length));
+         }
+         System.arraycopy(line, 0, input, size, length);
+         start[lines] = size;
+         size += length;
+         end[lines++] = size;
+      }
+
+      boolean add(ByteBuffer window, int offset, int length) {
+         if (mapped != window) {
+            if (lines > 0) {
+               return false;
+            }
+            mapped = window;
+         }
+         start[lines] = offset;
+         end[lines++] = offset + length;
+         size += length;
+         return true;
+      }
+
+      boolean isFull() {
+         return lines == end.length;
+      }
+
+      @Override
+      public Batch call() {
+         BatchEvent event = new BatchEvent();
+         event.begin();
+         long began = System.nanoTime();
+         // The most recently returned engine is taken first, as its cache is the likeliest to be warm.
+         CaesarMyszkowski engine = engines.poll();
+         if (engine == null) {
+            engine = new CaesarMyszkowski();
+         }
+         PlanCache cache = engine.cache();
+         long hits = cache.hits(), misses = cache.misses();
+         try {
+            output = new byte[size + lines];
+            for (int i = 0; i < lines; i++) {
+               int length = end[i] - start[i];
+               if (mapped != null) {
+                  outputSize += isEncipher
+                     ? engine.encipher(mapped, start[i], length, output, outputSize, key)
+                     : engine.decipher(mapped, start[i], length, output, outputSize, key);
+               }
+               else {
+                  outputSize += isEncipher
+                     ? engine.encipher(input, start[i], length, output, outputSize, key)
+                     : engine.decipher(input, start[i], length, output, outputSize, key);
+               }
+               output[outputSize++] = '\n';
+            }
+            metrics.hits.add(cache.hits() - hits);
+            metrics.misses.add(cache.misses() - misses);
+         } finally {
+            engines.push(engine);
+         }
+         input = null;
+         mapped = null;
+         metrics.lines.add(lines);
+         metrics.letters.add(outputSize - lines);
+         metrics.bytesIn.add(size);
+         metrics.cipher.record(System.nanoTime() - began);
+         if (event.shouldCommit()) {
+            event.direction = isEncipher ? "encipher" : "decipher";
+            event.keyLength = key.length();
+            event.lines = lines;
+            event.bytes = size;
+            event.letters = outputSize - lines;
+            for (int i = 0; i < lines; i++) {
+               event.longestLine = Math.max(event.longestLine, end[i] - start[i]);
+            }
+            event.commit();
+         }
+         return this;
+      }
+   }
+
+   /**
+   *  Encrypts every line of a stream and writes the ciphertext, one line per line, into another.
+   *
+   *  @param input a stream of ASCII plaintext
+   *  @param output the stream to receive the ciphertext
+   *  @param key a compiled keyword
+   *  @throws IOException if a stream cannot be read or written
+   */
+   public void encipher(InputStream input, OutputStream output, CompiledKey key) throws IOException {
+      process(input, output, key, true, null);
+   }
+
+   /**
+   *  Decrypts every line of a stream and writes the plaintext, one line per line, into another.
+   *
+   *  @param input a stream of ASCII ciphertext
+   *  @param output the stream to receive the plaintext
+   *  @param key a compiled keyword
+   *  @throws IOException if a stream cannot be read or written
+   */
+   public void decipher(InputStream input, OutputStream output, CompiledKey key) throws IOException {
+      process(input, output, key, false, null);
+   }
+
+   /**
+   *  Encrypts every line of a file, read through memory-mapped windows, and writes the ciphertext into a stream.
+   *
+   *  @param input a file of ASCII plaintext
+   *  @param output the stream to receive the ciphertext
+   *  @param key a compiled keyword
+   *  @throws IOException if the file cannot be mapped or the stream cannot be written
+   */
+   public void encipher(Path input, OutputStream output, CompiledKey key) throws IOException {
+      process(input, output, key, true, null);
+   }
+
+   /**
+   *  Encrypts every line of a file, read through memory-mapped windows, and reports the progress after every batch.
+   *  Stops with an {@code InterruptedIOException} as soon as the calling thread is interrupted.
+   *
+   *  @param input a file of ASCII plaintext
+   *  @param output the stream to receive the ciphertext
+   *  @param key a compiled keyword
+   *  @param progress the receiver of the progress, called on the calling thread
+   *  @throws IOException if the file cannot be mapped or the stream cannot be written
+   */
+   public void encipher(Path input, OutputStream output, CompiledKey key, Progress progress) throws IOException {
+      process(input, output, key, true, progress);
+   }
+
+   /**
+   *  Decrypts every line of a file, read through memory-mapped windows, and writes the plaintext into a stream.
+   *
+   *  @param input a file of ASCII ciphertext
+   *  @param output the stream to receive the plaintext
+   *  @param key a compiled keyword
+   *  @throws IOException if the file cannot be mapped or the stream cannot be written
+   */
+   public void decipher(Path input, OutputStream output, CompiledKey key) throws IOException {
+      process(input, output, key, false, null);
+   }
+
+   /**
+   *  Decrypts every line of a file, read through memory-mapped windows, and reports the progress after every batch.
+   *  Stops with an {@code InterruptedIOException} as soon as the calling thread is interrupted.
+   *
+   *  @param input a file of ASCII ciphertext
+   *  @param output the stream to receive the plaintext
+   *  @param key a compiled keyword
+   *  @param progress the receiver of the progress, called on the calling thread
+   *  @throws IOException if the file cannot be mapped or the stream cannot be written
+   */
+   public void decipher(Path input, OutputStream output, CompiledKey key, Progress progress) throws IOException {
+      process(input, output, key, false, progress);
+   }
+
+   private void process(InputStream input, OutputStream output, CompiledKey key, boolean isEncipher,
+                        Progress progress) throws IOException {
+      Job job = new Job(output, progress, "stream", isEncipher, key);
+      LineReader reader = new LineReader(input);
+      Batch batch = new Batch(isEncipher, key);
+      long position = 0;
+      try {
+         int length = reader.readLine();
+         while (length != -1) {
+            job.checkInterrupt();
+            batch.add(reader.line(), length);
+            position += length + 1;
+            if (batch.isFull()) {
+               batch.position = position;
+               job.submit(batch);
+               batch = new Batch(isEncipher, key);
+            }
+            length = reader.readLine();
+         }
+         batch.position = position;
+         job.finish(batch);
+         job.commit(position);
+      } finally {
+         job.cancel();
+      }
+   }
+
+   private void process(Path input, OutputStream output, CompiledKey key, boolean isEncipher,
+                        Progress progress) throws IOException {
+      Job job = new Job(output, progress, input.toString(), isEncipher, key);
+      Batch batch = new Batch(isEncipher, key);
+      try (MappedLineReader reader = new MappedLineReader(input)) {
+         int length = reader.readLine();
+         while (length != -1) {
+            job.checkInterrupt();
+            if (!batch.add(reader.buffer(), reader.offset(), length)) {
+               job.submit(batch);
+               batch = new Batch(isEncipher, key);
+               batch.add(reader.buffer(), reader.offset(), length);
+            }
+            batch.position = reader.position();
+            if (batch.isFull()) {
+               job.submit(batch);
+               batch = new Batch(isEncipher, key);
+            }
+            length = reader.readLine();
+         }
+         job.finish(batch);
+         job.commit(reader.position());
+      } finally {
+         job.cancel();
+      }
+   }
+
+   /** The batches of one stream or file in flight, written back in order. */
+   private class Job {
+      final ArrayDeque<Future<Batch>> pending = new ArrayDeque<>();
+      final OutputStream output;
+      final Progress progress;
+      final JobEvent event = new JobEvent();
+      long lines;
+
+      Job(OutputStream output, Progress progress, String source, boolean isEncipher, CompiledKey key) {
+         this.output = output;
+         this.progress = progress;
+         if (event.isEnabled()) {
+            event.source = source;
+            event.direction = isEncipher ? "encipher" : "decipher";
+            event.keyLength = key.length();
+         }
+         event.begin();
+      }
+
+      void commit(long bytes) {
+         if (event.shouldCommit()) {
+            event.lines = lines;
+            event.bytes = bytes;
+            event.commit();
+         }
+      }
+
+      void checkInterrupt() throws InterruptedIOException {
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("The job was interrupted.");
+         }
+      }
+
+      void submit(Batch batch) throws IOException {
+         metrics.read.record(System.nanoTime() - batch.created);
+         if (pending.size() == 2 * parallelism) {
+            write(pending.poll());
+         }
+         pending.offer(executor.submit(batch));
+      }
+
+      void finish(Batch batch) throws IOException {
+         if (batch.lines > 0) {
+            submit(batch);
+         }
+         while (!pending.isEmpty()) {
+            write(pending.poll());
+         }
+      }
+
+      void cancel() {
+         for (Future<Batch> future : pending) {
+            future.cancel(true);
+         }
+      }
+
+      void write(Future<Batch> future) throws IOException {
+         Batch batch;
+         try {
+            batch = future.get();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a batch.");
+         } catch (ExecutionException e) {
+            throw new IOException("A batch could not be ciphered.", e.getCause());
+         }
+         long began = System.nanoTime();
+         output.write(batch.output, 0, batch.outputSize);
+         metrics.write.record(System.nanoTime() - began);
+         metrics.bytesOut.add(batch.outputSize);
+         lines += batch.lines;
+         if (progress != null) {
+            progress.update(batch.position, lines);
+         }
+      }
+   }
+
+   /**
+   *  Returns the number of batches run at once.
+   *
+   *  @return parallelism the number of batches run at once
+   */
+   public int parallelism() {
+      return parallelism;
+   }
+
+   /**
+   *  Returns the number of lines in a batch.
+   *
+   *  @return batchSize the number of lines in a batch
+   */
+   public int batchSize() {
+      return batchSize;
+   }
+
+   /**
+   *  Returns the metrics this cipher reports to.
+   *
+   *  @return metrics the process-wide metrics
+   */
+   public CipherMetrics metrics() {
+      return metrics;
+   }
+
+   /** Shuts down the fork-join pool, unless the executor was supplied by the caller. */
+   @Override
+   public void close() {
+      if (isOwned) {
+         executor.shutdown();
+      }
+   }
+}
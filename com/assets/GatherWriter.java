@@ -0,0 +1,314 @@
+/*
+*  File Name:  GatherWriter.java
+*
+*  Writes a stream of bytes into a file through a ring of reusable direct buffers.
+*  The buffers are only handed to the file once all of them are full, in a single gather write,
+*  so a file of many short lines takes a handful of system calls instead of one per line.
+*
+*  Unique Features:
+*  - Can write into a temporary file and move it over the target on close, so a partial file is never visible.
+*    The file ends up with the permissions a plain write would have given it: those of the target it replaces,
+*    or the default ones for a new file.
+*  - Can force the file to the storage device on every flush, on close, or never.
+*  - Can hand out room in its current buffer to be filled in place, so bytes produced in direct memory
+*    reach the file without a copy through the heap.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** A buffered file writer that flushes with gather writes. */
+public class GatherWriter extends OutputStream {
+
+   /** When the written bytes are forced to the storage device. */
+   public enum Sync {
+      /** Leaves it to the operating system. */
+      NONE,
+      /** Forces the file on every flush and on close. */
+      ON_FLUSH,
+      /** Forces the file once, on close. */
+      ON_CLOSE
+   }
+
+   /** The size of a buffer by default, in bytes. */
+   public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+   /** The number of buffers by default. */
+   public static final int DEFAULT_BUFFERS = 4;
+
+   private final Path target;
+   private final Path temporary;
+   private final FileChannel channel;
+   private final ByteBuffer[] buffers;
+   private final Sync sync;
+   private int current;
+   private long writes;
+   private boolean isClosed;
+
+   /**
+   *  Constructs a {@code GatherWriter} that writes straight into a file with the default buffers.
+   *
+   *  @param target the file to write, which is created or truncated
+   *  @throws IOException if the file cannot be opened
+   */
+   public GatherWriter(Path target) throws IOException {
+      this(target, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFERS, Sync.NONE, false);
+   }
+
+   /**
+   *  Constructs a {@code GatherWriter} with specified buffers, sync policy and write mode.
+   *
+   *  @param target the file to write, which is created or replaced
+   *  @param bufferSize the size of each buffer, in bytes
+   *  @param buffers the number of buffers gathered in one write
+   *  @param sync when the file is forced to the storage device
+   *  @param isAtomic {@code true} to write into a temporary file that replaces the target on close
+   *  @throws IOException if the file cannot be opened
+   */
+   public GatherWriter(Path target, int bufferSize, int buffers, Sync sync, boolean isAtomic) throws IOException {
+      if (bufferSize < 1 || buffers < 1) {
+         throw new IllegalArgumentException("The buffer size and number of buffers must be at least one.");
+      }
+      this.target = target.toAbsolutePath();
+      this.temporary = isAtomic ? createTemporary(this.target) : null;
+      this.channel = FileChannel.open(isAtomic ? temporary : this.target,
+         StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+      this.buffers = new ByteBuffer[buffers];
+      for (int i = 0; i < buffers; i++) {
+         this.buffers[i] = ByteBuffer.allocateDirect(bufferSize);
+      }
+      this.sync = sync;
+   }
+
+   /**
+   *  Creates an empty file beside the target under a name no other file has.
+   *  Unlike {@code Files.createTempFile}, which makes the file private to its owner,
+   *  the file gets the same default permissions as any new file.
+   *
+   *  @param target the file to be replaced
+   *  @return temporary the new file
+   *  @throws IOException if the file cannot be created
+   */
+   private static Path createTemporary(Path target) throws IOException {
+      while (true) {
+         Path temporary = target.resolveSibling(target.getFileName() + "."
+            + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".tmp");
+         try {
+            return Files.createFile(temporary);
+         } catch (FileAlreadyExistsException e) {
+            // Another file took the name first; pick another.
+         }
+      }
+   }
+
+   @Override
+   public void write(int character) throws IOException {
+      if (!buffers[current].hasRemaining()) {
+         advance();
+      }
+      buffers[current].put((byte) character);
+   }
+
+   @Override
+   public void write(byte[] source, int offset, int length) throws IOException {
+      while (length > 0) {
+         if (!buffers[current].hasRemaining()) {
+            advance();
+         }
+         ByteBuffer buffer = buffers[current];
+         int count = Math.min(length, buffer.remaining());
+         buffer.put(source, offset, count);
+         offset += count;
+         length -= count;
+      }
+   }
+
+   /**
+   *  Writes the remaining bytes of a buffer, leaving its position at its limit.
+   *
+   *  @param source the bytes to write
+   *  @throws IOException if the file cannot be written
+   */
+   public void write(ByteBuffer source) throws IOException {
+      while (source.hasRemaining()) {
+         if (!buffers[current].hasRemaining()) {
+            advance();
+         }
+         ByteBuffer buffer = buffers[current];
+         int count = Math.min(source.remaining(), buffer.remaining());
+         int limit = source.limit();
+         source.limit(source.position() + count);
+         buffer.put(source);
+         source.limit(limit);
+      }
+   }
+
+   /**
+   *  Makes room for a number of bytes and returns the direct buffer they belong in.
+   *  The caller puts them with absolute indices from the buffer's position, then calls {@link #commit(int)}.
+   *
+   *  @param length the number of bytes about to be written, at most the size of a buffer
+   *  @return buffer the buffer to fill in place
+   *  @throws IOException if the file cannot be written
+   */
+   public ByteBuffer claim(int length) throws IOException {
+      if (length > buffers[current].capacity()) {
+         throw new IllegalArgumentException("Cannot claim more than the size of a buffer.");
+      }
+      if (buffers[current].remaining() < length) {
+         advance();
+      }
+      return buffers[current];
+   }
+
+   /**
+   *  Marks bytes put into the buffer returned by {@link #claim(int)} as written.
+   *
+   *  @param length the number of bytes put, at most the number claimed
+   */
+   public void commit(int length) {
+      ByteBuffer buffer = buffers[current];
+      buffer.position(buffer.position() + length);
+   }
+
+   /**
+   *  Returns the size of each buffer, which is the most that can be claimed at once.
+   *
+   *  @return the size of a buffer, in bytes
+   */
+   public int bufferSize() {
+      return buffers[0].capacity();
+   }
+
+   /**
+   *  Moves on to the next buffer, writing all of them out once the last one is full.
+   *
+   *  @throws IOException if the file cannot be written
+   */
+   private void advance() throws IOException {
+      if (current == buffers.length - 1) {
+         drain();
+      }
+      else {
+         current++;
+      }
+   }
+
+   /**
+   *  Writes every filled buffer into the file in one gather write and empties them.
+   *
+   *  @throws IOException if the file cannot be written
+   */
+   private void drain() throws IOException {
+      if (isClosed) {
+         throw new IOException("The writer is already closed.");
+      }
+      int used = buffers[current].position() > 0 ? current + 1 : current;
+      for (int i = 0; i < used; i++) {
+         buffers[i].flip();
+      }
+      while (used > 0 && buffers[used - 1].hasRemaining()) {
+         channel.write(buffers, 0, used);
+         writes++;
+      }
+      for (int i = 0; i < used; i++) {
+         buffers[i].clear();
+      }
+      current = 0;
+   }
+
+   @Override
+   public void flush() throws IOException {
+      drain();
+      if (sync == Sync.ON_FLUSH) {
+         channel.force(false);
+      }
+   }
+
+   /**
+   *  Writes out the remaining bytes and closes the file.
+   *  A temporary file then replaces the target, atomically where the file system allows it.
+   *
+   *  @throws IOException if the file cannot be written or moved
+   */
+   @Override
+   public void close() throws IOException {
+      if (isClosed) {
+         return;
+      }
+      try {
+         drain();
+         if (sync != Sync.NONE) {
+            channel.force(true);
+         }
+      } catch (IOException e) {
+         try {
+            abort();
+         } catch (IOException failure) {
+            e.addSuppressed(failure);
+         }
+         throw e;
+      }
+      isClosed = true;
+      channel.close();
+      if (temporary != null) {
+         try {
+            if (Files.exists(target)) {
+               // Overwriting a file in place keeps its permissions, so the file replacing it keeps them too.
+               try {
+                  Files.setPosixFilePermissions(temporary, Files.getPosixFilePermissions(target));
+               } catch (UnsupportedOperationException e) {
+                  // Not a POSIX file system; there are no permission bits to copy.
+               }
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+         } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+         } finally {
+            Files.deleteIfExists(temporary);
+         }
+      }
+   }
+
+   /**
+   *  Closes the file and deletes everything written so far.
+   *  In atomic mode the target is left as it was; otherwise the partial target is deleted.
+   *  Does nothing once the writer has been closed successfully.
+   *
+   *  @throws IOException if the file cannot be closed or the partial file cannot be deleted
+   */
+   public void abort() throws IOException {
+      if (isClosed) {
+         return;
+      }
+      isClosed = true;
+      try {
+         channel.close();
+      } finally {
+         Files.deleteIfExists(temporary != null ? temporary : target);
+      }
+   }
+
+   /**
+   *  Returns the number of write calls made on the file so far.
+   *
+   *  @return writes the number of writes
+   */
+   public long writes() {
+      return writes;
+   }
+}
@@ -12,7 +12,10 @@
 
 package com.assets;
 
-/*A simple Hash Table. */
+/**
+*  A simple Hash Table.
+*  Not synchronized, hence each instance must be confined to one thread.
+*/
 public class HashTable {
    class Node {
       Node next;
@@ -128,4 +131,4 @@ public class HashTable {
          System.out.println();
       }
    }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+/*
+*  File Name:  Histogram.java
+*
+*  A histogram of latencies in power-of-two buckets of nanoseconds, recorded from any number of threads at once.
+*  Every bucket is a {@code LongAdder}, so concurrent recording spreads over striped cells instead of
+*  contending on one counter, and reading never blocks a writer.
+*
+*  Notes:
+*  - Percentiles are reported as the upper bound of their bucket, hence at most twice the true value.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** A concurrent histogram of latencies. */
+public class Histogram {
+
+   private final LongAdder[] buckets = new LongAdder[64];
+   private final LongAdder total = new LongAdder();
+   private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+   /** Constructs an empty {@code Histogram}. */
+   public Histogram() {
+      for (int i = 0; i < buckets.length; i++) {
+         buckets[i] = new LongAdder();
+      }
+   }
+
+   /**
+   *  Records one latency.
+   *
+   *  @param nanos the latency in nanoseconds
+   */
+   public void record(long nanos) {
+      nanos = Math.max(nanos, 0);
+      buckets[64 - Long.numberOfLeadingZeros(nanos) & 63].increment();
+      total.add(nanos);
+      max.accumulate(nanos);
+   }
+
+   /**
+   *  Returns the number of latencies recorded so far.
+   *
+   *  @return count the number of latencies
+   */
+   public long count() {
+      long count = 0;
+      for (LongAdder bucket : buckets) {
+         count += bucket.sum();
+      }
+      return count;
+   }
+
+   /**
+   *  Returns the mean latency.
+   *
+   *  @return the mean in nanoseconds, or zero if nothing was recorded
+   */
+   public double mean() {
+      long count = count();
+      return count == 0 ? 0 : (double) total.sum() / count;
+   }
+
+   /**
+   *  Returns the largest latency recorded so far.
+   *
+   *  @return max the largest latency in nanoseconds
+   */
+   public long max() {
+      return max.get();
+   }
+
+   /**
+   *  Returns an upper bound of a certain percentile.
+   *
+   *  @param percentile a percentile, from zero to one hundred
+   *  @return the upper bound of the bucket holding the percentile, in nanoseconds
+   */
+   public long percentile(double percentile) {
+      long[] counts = counts();
+      long count = 0;
+      for (long bucket : counts) {
+         count += bucket;
+      }
+      long rank = (long) Math.ceil(percentile / 100 * count);
+      for (int i = 0; i < counts.length; i++) {
+         rank -= counts[i];
+         if (rank <= 0 && counts[i] > 0) {
+            return Math.min(i == 0 ? 0 : (1L << i) - 1, max());
+         }
+      }
+      return max();
+   }
+
+   /**
+   *  Returns the number of latencies in each bucket.
+   *  Bucket {@code i} holds the latencies from {@code 2^(i-1)} up to {@code 2^i - 1} nanoseconds.
+   *
+   *  @return counts the count of every bucket
+   */
+   public long[] counts() {
+      long[] counts = new long[buckets.length];
+      for (int i = 0; i < buckets.length; i++) {
+         counts[i] = buckets[i].sum();
+      }
+      return counts;
+   }
+
+   /** Removes every recorded latency. */
+   public void reset() {
+      for (LongAdder bucket : buckets) {
+         bucket.reset();
+      }
+      total.reset();
+      max.reset();
+   }
+}
@@ -0,0 +1,91 @@
+/*
+*  File Name:  LineReader.java
+*
+*  Reads a stream of ASCII text line by line into a reusable byte array, without decoding it into strings.
+*  A line ends with a line feed, a carriage return, or a carriage return followed by a line feed.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/** A line reader over raw bytes. */
+public class LineReader implements Closeable {
+
+   private final InputStream input;
+   private final byte[] buffer;
+   private byte[] line;
+   private int position, limit;
+   private boolean skipFeed;
+
+   /**
+   *  Constructs a {@code LineReader} over a certain stream.
+   *
+   *  @param input the stream to read from
+   */
+   public LineReader(InputStream input) {
+      this.input = input;
+      this.buffer = new byte[65536];
+      this.line = new byte[256];
+   }
+
+   /**
+   *  Reads the next line, excluding its line terminator.
+   *
+   *  @return length the number of bytes in the line, or {@code -1} at the end of the stream
+   *  @throws IOException if the stream cannot be read
+   */
+   public int readLine() throws IOException {
+      int length = 0;
+      boolean any = false;
+      while (true) {
+         if (position == limit) {
+            limit = input.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+               limit = 0;
+               return any ? length : -1;
+            }
+         }
+         byte character = buffer[position++];
+         if (skipFeed) {
+            skipFeed = false;
+            if (character == '\n') {
+               continue;
+            }
+         }
+         any = true;
+         if (character == '\n') {
+            return length;
+         }
+         if (character == '\r') {
+            skipFeed = true;
+            return length;
+         }
+         if (length == line.length) {
+            line = Arrays.copyOf(line, length * 2);
+         }
+         line[length++] = character;
+      }
+   }
+
+   /**
+   *  Returns the array holding the most recent line, starting at index zero.
+   *
+   *  @return line the line buffer
+   */
+   public byte[] line() {
+      return line;
+   }
+
+   @Override
+   public void close() throws IOException {
+      input.close();
+   }
+}
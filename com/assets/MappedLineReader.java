@@ -0,0 +1,195 @@
+/*
+*  File Name:  MappedLineReader.java
+*
+*  Reads a file of ASCII text line by line straight out of memory-mapped windows, without copying or decoding it.
+*  Each line is handed out as a slice of the current window, which stays valid for as long as it is referenced.
+*  A line ends with a line feed, a carriage return, or a carriage return followed by a line feed.
+*
+*  Notes:
+*  - Files larger than two gigabytes are mapped one window at a time.
+*  - A window grows to hold a line longer than itself, up to two gigabytes per line.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** A line reader over memory-mapped windows of a file. */
+public class MappedLineReader implements Closeable {
+
+   /** The size of a window by default, in bytes. */
+   public static final int DEFAULT_WINDOW = 1 << 28;
+
+   private final FileChannel channel;
+   private final long size;
+   private final int window;
+   private ByteBuffer buffer;
+   private long base;
+   private int position, offset;
+   private boolean skipFeed;
+
+   /**
+   *  Constructs a {@code MappedLineReader} over a certain file with the default window.
+   *
+   *  @param path the file to read from
+   *  @throws IOException if the file cannot be opened or mapped
+   */
+   public MappedLineReader(Path path) throws IOException {
+      this(path, DEFAULT_WINDOW);
+   }
+
+   /**
+   *  Constructs a {@code MappedLineReader} over a certain file with a specified window.
+   *
+   *  @param path the file to read from
+   *  @param window the number of bytes mapped at once
+   *  @throws IOException if the file cannot be opened or mapped
+   */
+   public MappedLineReader(Path path, int window) throws IOException {
+      if (window < 1) {
+         throw new IllegalArgumentException("The window must be at least one byte.");
+      }
+      this.channel = FileChannel.open(path, StandardOpenOption.READ);
+      this.size = channel.size();
+      this.window = window;
+      map(0, window);
+   }
+
+   /**
+   *  Maps a window of the file.
+   *
+   *  @param from the position in the file of the window's first byte
+   *  @param length the preferred number of bytes in the window
+   *  @throws IOException if the file cannot be mapped
+   */
+   private void map(long from, long length) throws IOException {
+      length = Math.min(Math.min(length, size - from), Integer.MAX_VALUE);
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+      base = from;
+   }
+
+   /**
+   *  Tests whether the current window reaches the end of the file.
+   *
+   *  @return {@code true} if there is nothing left to map, otherwise {@code false}
+   */
+   private boolean isLastWindow() {
+      return base + buffer.limit() >= size;
+   }
+
+   /**
+   *  Maps the window that starts at a certain index of the current one.
+   *
+   *  @param from an index in the current window
+   *  @param grow {@code true} to make the new window larger than the current one
+   *  @throws IOException if the line does not fit in any window, or the file cannot be mapped
+   */
+   private void slide(int from, boolean grow) throws IOException {
+      long length = window;
+      if (grow) {
+         if (buffer.limit() - from == Integer.MAX_VALUE) {
+            throw new IOException("A line is longer than two gigabytes.");
+         }
+         length = Math.max(window, 2L * (buffer.limit() - from));
+      }
+      map(base + from, length);
+   }
+
+   /**
+   *  Reads the next line, excluding its line terminator.
+   *
+   *  @return length the number of bytes in the line, or {@code -1} at the end of the file
+   *  @throws IOException if the file cannot be mapped
+   */
+   public int readLine() throws IOException {
+      if (skipFeed) {
+         skipFeed = false;
+         if (position == buffer.limit() && !isLastWindow()) {
+            slide(position, false);
+            position = 0;
+         }
+         if (position < buffer.limit() && buffer.get(position) == '\n') {
+            position++;
+         }
+      }
+      if (position == buffer.limit()) {
+         if (isLastWindow()) {
+            return -1;
+         }
+         slide(position, false);
+         position = 0;
+      }
+      int start = position;
+      int index = start;
+      while (true) {
+         int limit = buffer.limit();
+         while (index < limit) {
+            byte character = buffer.get(index);
+            if (character == '\n' || character == '\r') {
+               skipFeed = character == '\r';
+               offset = start;
+               position = index + 1;
+               return index - start;
+            }
+            index++;
+         }
+         if (isLastWindow()) {
+            offset = start;
+            position = limit;
+            return limit - start;
+         }
+         slide(start, start == 0);
+         index -= start;
+         start = 0;
+      }
+   }
+
+   /**
+   *  Returns the window holding the most recent line.
+   *
+   *  @return buffer the current window
+   */
+   public ByteBuffer buffer() {
+      return buffer;
+   }
+
+   /**
+   *  Returns the index of the most recent line within its window.
+   *
+   *  @return offset the index of the first byte of the line
+   */
+   public int offset() {
+      return offset;
+   }
+
+   /**
+   *  Returns the size of the file.
+   *
+   *  @return size the number of bytes in the file
+   */
+   public long size() {
+      return size;
+   }
+
+   /**
+   *  Returns the number of bytes read so far, including line terminators.
+   *
+   *  @return the position in the file
+   */
+   public long position() {
+      return base + position;
+   }
+
+   @Override
+   public void close() throws IOException {
+      channel.close();
+   }
+}
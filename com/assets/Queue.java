@@ -2,6 +2,7 @@
 *  File Name:  Queue.java
 *
 *  A simple array-based queue that only enqueue and dequeue elements.
+*  The array is used as a circular buffer, so both ends move in constant time and nothing is ever shifted.
 *
 *  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
 */
@@ -10,41 +11,87 @@ package com.assets;
 
 import java.util.Arrays;
 
-/** A simple array-based queue. */
+/**
+*  A simple array-based queue.
+*  Every instance owns its own buffer, but is not synchronized, hence it must be confined to one thread.
+*/
 public class Queue {
    
-   public static int count, capacity, front, queue[];
+   private final int capacity;
+   private final int[] queue;
+   private int count, front, rear;
    
+   /**
+   *  Constructs an empty {@code Queue} with a specified capacity.
+   *
+   *  @param capacity the maximum number of elements
+   */
    public Queue(int capacity) {
-      this.count = -1;
-      this.front = 0;
+      if (capacity < 1) {
+         throw new IllegalArgumentException("The capacity must be at least one.");
+      }
       this.capacity = capacity;
-      queue = new int[capacity];
+      this.queue = new int[capacity];
    }
    
    public boolean isEmpty() {
-      return (count == -1);
+      return (count == 0);
    }
    
    public boolean isFull() {
-      return (count == capacity - 1);
+      return (count == capacity);
    }
    
+   /**
+   *  Returns the current count of the queue.
+   *
+   *  @return count the current count
+   */
+   public int count() {
+      return count;
+   }
+   
+   /**
+   *  Adds a certain value at the rear of the queue.
+   *
+   *  @param value a certain value
+   */
    public void offer(int value) {
-      queue[++count] = value;
+      if (isFull()) {
+         throw new IllegalStateException("The queue is full.");
+      }
+      queue[rear] = value;
+      rear = (rear + 1 == capacity) ? 0 : rear + 1;
+      count++;
    }
    
+   /**
+   *  Removes the value at the front of the queue.
+   *
+   *  @return value the value at the front
+   */
    public int poll() {
-      front = queue[0];
-      for (int i = 0; i < count; i++) {
-         queue[i] = queue[i + 1];
+      if (isEmpty()) {
+         throw new IllegalStateException("The queue is empty.");
       }
-      queue[count--] = 0;
-      return front;
+      int value = queue[front];
+      front = (front + 1 == capacity) ? 0 : front + 1;
+      count--;
+      return value;
    }
    
+   /**
+   *  Sorts the elements in the queue into ascending order, front to rear.
+   */
    public void sort() {
-      Arrays.sort(queue);
+      int[] live = new int[count];
+      for (int i = 0; i < count; i++) {
+         live[i] = queue[(front + i) % capacity];
+      }
+      Arrays.sort(live);
+      System.arraycopy(live, 0, queue, 0, count);
+      front = 0;
+      rear = count % capacity;
    }
    
    /**
@@ -58,10 +105,10 @@ public class Queue {
       }
       else {
          System.out.println("\nEnumerating queue from front to tail...");
-         for (int i = 0; i < count + 1; i++) {
-            System.out.print(queue[i] + " ");
+         for (int i = 0; i < count; i++) {
+            System.out.print(queue[(front + i) % capacity] + " ");
          }
          System.out.print("\n");
       }
    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+/*
+*  File Name: RingBuffer.java
+*
+*  A bounded blocking queue over a fixed array of slots, allocated once, that connects two stages of a pipeline.
+*  A producer waits while the ring is full and a consumer while it is empty, so a slow stage holds back a fast one
+*  instead of letting work pile up; the time each side spends waiting is added up as its stall time.
+*
+*  Notes:
+*  - Once closed, a ring rejects new elements but still hands out the ones it holds, then returns null.
+*  - Guarded by one lock with a condition for each side; moving an element never allocates.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+*  A bounded, preallocated blocking ring buffer that records how long its producers and consumers stall.
+*
+*  @param <E> the type of elements
+*/
+public class RingBuffer<E> {
+
+   private final Object[] slots;
+   private final ReentrantLock lock = new ReentrantLock();
+   private final Condition notEmpty = lock.newCondition();
+   private final Condition notFull = lock.newCondition();
+   private int count, front, rear;
+   private long putStall, takeStall;
+   private boolean isClosed;
+
+   /**
+   *  Constructs a {@code RingBuffer} with a fixed number of slots.
+   *
+   *  @param capacity the number of elements the ring holds at most
+   */
+   public RingBuffer(int capacity) {
+      if (capacity < 1) {
+         throw new IllegalArgumentException("The capacity must be at least one.");
+      }
+      slots = new Object[capacity];
+   }
+
+   /**
+   *  Inserts an element at the rear, waiting for a free slot if the ring is full.
+   *
+   *  @param element the element to insert
+   *  @return {@code true} if the element was inserted, or {@code false} if the ring is closed
+   *  @throws InterruptedException if the thread is interrupted while waiting
+   */
+   public boolean put(E element) throws InterruptedException {
+      lock.lockInterruptibly();
+      try {
+         if (count == slots.length && !isClosed) {
+            long start = System.nanoTime();
+            try {
+               while (count == slots.length && !isClosed) {
+                  notFull.await();
+               }
+            } finally {
+               putStall += System.nanoTime() - start;
+            }
+         }
+         if (isClosed) {
+            return false;
+         }
+         slots[rear] = element;
+         rear = (rear + 1) % slots.length;
+         count++;
+         notEmpty.signal();
+         return true;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+   *  Removes the element at the front, waiting for one if the ring is empty.
+   *
+   *  @return element the front element, or {@code null} once the ring is closed and empty
+   *  @throws InterruptedException if the thread is interrupted while waiting
+   */
+   @SuppressWarnings("unchecked")
+   public E take() throws InterruptedException {
+      lock.lockInterruptibly();
+      try {
+         if (count == 0 && !isClosed) {
+            long start = System.nanoTime();
+            try {
+               while (count == 0 && !isClosed) {
+                  notEmpty.await();
+               }
+            } finally {
+               takeStall += System.nanoTime() - start;
+            }
+         }
+         if (count == 0) {
+            return null;
+         }
+         E element = (E) slots[front];
+         slots[front] = null;
+         front = (front + 1) % slots.length;
+         count--;
+         notFull.signal();
+         return element;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /** Rejects any further element and wakes every waiting thread; the elements held can still be taken. */
+   public void close() {
+      lock.lock();
+      try {
+         isClosed = true;
+         notEmpty.signalAll();
+         notFull.signalAll();
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+   *  Returns the number of elements in the ring.
+   *
+   *  @return count the current depth
+   */
+   public int size() {
+      lock.lock();
+      try {
+         return count;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+   *  Returns the number of slots in the ring.
+   *
+   *  @return the greatest depth
+   */
+   public int capacity() {
+      return slots.length;
+   }
+
+   /**
+   *  Returns the time producers have spent waiting for a free slot.
+   *
+   *  @return putStall the stall time, in nanoseconds
+   */
+   public long putStall() {
+      lock.lock();
+      try {
+         return putStall;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+   *  Returns the time consumers have spent waiting for an element.
+   *
+   *  @return takeStall the stall time, in nanoseconds
+   */
+   public long takeStall() {
+      lock.lock();
+      try {
+         return takeStall;
+      } finally {
+         lock.unlock();
+      }
+   }
+}
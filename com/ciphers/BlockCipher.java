@@ -0,0 +1,160 @@
+/*
+*  File Name: BlockCipher.java
+*  Dependencies: Caesar.java, Transposition.java, PlanCache.java and CompiledKey.java
+*
+*  The Caesar-Myszkowski cipher in streaming block mode, for input whose lines are too long to hold in memory.
+*  Instead of transposing each line as a whole, the letters of the whole stream are shifted and transposed
+*  in fixed-size blocks, and each block is written out as soon as it is full.
+*
+*  Notes:
+*  - The block size must be a multiple of the keyword's length, so every block holds whole rows of the grid.
+*  - The last block may be shorter, in which case it is transposed on its own number of letters.
+*  - Line terminators are dropped along with every other non-alphabetical character.
+*  - Holds two blocks in memory at any time, however long the stream is.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/** A streaming Caesar-Myszkowski cipher over fixed-size blocks of letters. */
+public class BlockCipher {
+
+   /** The preferred number of letters in a block by default, rounded down to a multiple of the keyword's length. */
+   public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+   private static final int CHUNK = 1 << 16;
+
+   private final CompiledKey key;
+   private final int blockSize;
+   private final PlanCache cache;
+
+   /**
+   *  Constructs a {@code BlockCipher} with the default block size, rounded down to a multiple of the keyword's length.
+   *
+   *  @param key a compiled keyword
+   */
+   public BlockCipher(CompiledKey key) {
+      this(key, Math.max(1, DEFAULT_BLOCK_SIZE / key.length()) * key.length());
+   }
+
+   /**
+   *  Constructs a {@code BlockCipher} with a specified block size.
+   *
+   *  @param key a compiled keyword
+   *  @param blockSize the number of letters in a block, a positive multiple of the keyword's length
+   */
+   public BlockCipher(CompiledKey key, int blockSize) {
+      this(key, blockSize, new PlanCache());
+   }
+
+   /**
+   *  Constructs a {@code BlockCipher} with a specified block size that shares a cache of transpositions.
+   *
+   *  @param key a compiled keyword
+   *  @param blockSize the number of letters in a block, a positive multiple of the keyword's length
+   *  @param cache a cache of compiled transpositions
+   */
+   public BlockCipher(CompiledKey key, int blockSize, PlanCache cache) {
+      if (blockSize < 1 || blockSize % key.length() != 0) {
+         throw new IllegalArgumentException("The block size must be a positive multiple of the keyword's length.");
+      }
+      this.key = key;
+      this.blockSize = blockSize;
+      this.cache = cache;
+   }
+
+   /**
+   *  Encrypts a stream of plaintext block by block.
+   *
+   *  Note:
+   *  - Removes non-alphabetical characters from the original plaintext.
+   *
+   *  @param input a stream of ASCII plaintext of any length
+   *  @param output the stream to receive the ciphertext
+   *  @return count the number of letters written
+   *  @throws IOException if a stream cannot be read or written
+   */
+   public long encipher(InputStream input, OutputStream output) throws IOException {
+      return process(input, output, Caesar.table(key.shift()), true);
+   }
+
+   /**
+   *  Decrypts a stream of ciphertext that was encrypted with the same block size, block by block.
+   *
+   *  Note:
+   *  - Cannot restore to the original plaintext before it was encrypted.
+   *
+   *  @param input a stream of ASCII ciphertext of any length
+   *  @param output the stream to receive the plaintext
+   *  @return count the number of letters written
+   *  @throws IOException if a stream cannot be read or written
+   */
+   public long decipher(InputStream input, OutputStream output) throws IOException {
+      return process(input, output, Caesar.table((26 - key.shift()) % 26), false);
+   }
+
+   /**
+   *  Shifts the letters of a stream into a block and transposes every block once it is full.
+   *
+   *  @param input the stream to read
+   *  @param output the stream to write
+   *  @param table a translate table of {@code Caesar}
+   *  @param isEncipher {@code true} to encipher, {@code false} to decipher
+   *  @return count the number of letters written
+   *  @throws IOException if a stream cannot be read or written
+   */
+   private long process(InputStream input, OutputStream output, byte[] table, boolean isEncipher) throws IOException {
+      byte[] chunk = new byte[CHUNK];
+      byte[] block = new byte[blockSize];
+      byte[] transposed = new byte[blockSize];
+      Transposition full = cache.compile(key, blockSize);
+      long count = 0;
+      int fill = 0;
+      int read;
+      while ((read = input.read(chunk, 0, CHUNK)) != -1) {
+         for (int index = 0; index < read; index++) {
+            byte character = table[chunk[index] & 0xFF];
+            if (character != 0) {
+               block[fill++] = character;
+               if (fill == blockSize) {
+                  transpose(full, block, transposed, isEncipher);
+                  output.write(transposed, 0, blockSize);
+                  count += blockSize;
+                  fill = 0;
+               }
+            }
+         }
+      }
+      if (fill > 0) {
+         transpose(cache.compile(key, fill), block, transposed, isEncipher);
+         output.write(transposed, 0, fill);
+         count += fill;
+      }
+      return count;
+   }
+
+   private static void transpose(Transposition plan, byte[] source, byte[] target, boolean isEncipher) {
+      if (isEncipher) {
+         plan.encipher(source, 0, target, 0);
+      }
+      else {
+         plan.decipher(source, 0, target, 0);
+      }
+   }
+
+   /**
+   *  Returns the number of letters in a block.
+   *
+   *  @return blockSize the number of letters in a block
+   */
+   public int blockSize() {
+      return blockSize;
+   }
+}
@@ -7,6 +7,9 @@
 *  Notes:
 *  - Does not preserve punctuations, spaces, and digits in the ciphering process as well as restoring to original text. 
 *  - Only works if all text is compatible with ASCII.
+*  - The byte path runs on SIMD registers through {@code VectorCaesar} on JDK 21 or later when the
+*    jdk.incubator.vector module is resolved. The system property com.ciphers.vector set to true or false
+*    forces it on or off; JDK 17 boxes the shuffles it packs letters with, so it is off there by default.
 *
 *  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
 *  @version 2.2 2020/11/26
@@ -14,14 +17,69 @@
 
 package com.ciphers;
 
-/** An enhanced version of the classical substitution cipher. */
+import java.io.IOException;
+
+/**
+*  An enhanced version of the classical substitution cipher.
+*  Holds no mutable state, hence one instance can be shared across threads.
+*/
 public class Caesar {
    
-   private StringBuilder builder;
+   private static final byte[][] TABLES = new byte[26][];
+   private static final boolean IS_VECTORIZED = isVectorAvailable();
+   
+   static {
+      for (int shift = 0; shift < 26; shift++) {
+         byte[] table = new byte[256];
+         for (int letter = 0; letter < 26; letter++) {
+            byte character = (byte) ((letter + shift) % 26 + 65);
+            table['A' + letter] = character;
+            table['a' + letter] = character;
+         }
+         TABLES[shift] = table;
+      }
+   }
+   
+   /**
+   *  Tests whether the Vector API should and can be loaded, which only happens if its module was resolved at startup.
+   *
+   *  @return {@code true} if {@code VectorCaesar} loaded, otherwise {@code false}
+   */
+   private static boolean isVectorAvailable() {
+      String property = System.getProperty("com.ciphers.vector");
+      if (property == null ? Runtime.version().feature() < 21 : !Boolean.parseBoolean(property)) {
+         return false;
+      }
+      try {
+         Class.forName("com.ciphers.VectorCaesar");
+         return true;
+      } catch (ClassNotFoundException | LinkageError e) {
+         return false;
+      }
+   }
+   
+   /**
+   *  Tests whether the byte path runs on SIMD registers or falls back to the scalar loop.
+   *
+   *  @return {@code true} if the byte path is vectorized, otherwise {@code false}
+   */
+   public static boolean isVectorized() {
+      return IS_VECTORIZED;
+   }
    
    /** Constructs a {@code Caesar()} cipher. */
    public Caesar() {
-      builder = new StringBuilder();
+   }
+   
+   /**
+   *  Returns the translate table of a certain shift.
+   *  Each entry holds the shifted uppercase letter, or zero for a character that is not a letter.
+   *
+   *  @param shift the number of positions, from zero to twenty-five
+   *  @return the translate table, which must not be modified
+   */
+   static byte[] table(int shift) {
+      return TABLES[shift];
    }
    
    /**
@@ -113,31 +171,51 @@ public class Caesar {
    }
    
    /**
-   *  Encrypts the ciphertext into plaintext using Caesar substitution.
+   *  Shifts every letter of a line a certain number of positions down the alphabet.
    *
-   *  Note:
-   *  - Cannot restore to the original plaintext before it was encrypted.
-   *
-   *  @param text a line of ciphertext
-   *  @param key a valid keyword
-   *  @return a line of plaintext
+   *  @param text a line of text
+   *  @param shift the number of positions, from zero to twenty-five
+   *  @return a line of uppercase letters
    */
-   public String encipher(String text, String key) {
-      int vowel = vowel(key);
-      int consonant = consonant(key);
+   private String substitute(String text, int shift) {
+      char[] result = new char[text.length()];
+      int count = 0;
       for (int index = 0; index < text.length(); index++) {
          char character = text.charAt(index);
          if(isAlphabet(character)) {
             if(isLowerCase(character)) {
                character = convertUpperCase(character);
             }
-            character = (char) (((int) character + (vowel * consonant) - 65) % 26 + 65);
-            builder.append(character);
+            character = (char) (((int) character + shift - 65) % 26 + 65);
+            result[count++] = character;
          }
       }
-      String ciphertext = builder.toString();
-      builder.setLength(0);
-      return ciphertext;
+      return new String(result, 0, count);
+   }
+   
+   /**
+   *  Encrypts the plaintext into ciphertext using Caesar substitution.
+   *
+   *  Note:
+   *  - Cannot restore to the original plaintext before it was encrypted.
+   *
+   *  @param text a line of plaintext
+   *  @param key a valid keyword
+   *  @return a line of ciphertext
+   */
+   public String encipher(String text, String key) {
+      return substitute(text, (vowel(key) * consonant(key)) % 26);
+   }
+   
+   /**
+   *  Encrypts the plaintext into ciphertext using Caesar substitution.
+   *
+   *  @param text a line of plaintext
+   *  @param key a compiled keyword
+   *  @return a line of ciphertext
+   */
+   public String encipher(String text, CompiledKey key) {
+      return substitute(text, key.shift());
    }
    
    /**
@@ -151,20 +229,173 @@ public class Caesar {
    *  @return a line of plaintext
    */
    public String decipher(String text, String key) {
-      int vowel = vowel(key);
-      int consonant = consonant(key);
-      for (int index = 0; index < text.length(); index++) {
-         char character = text.charAt(index);
-         if(isAlphabet(character)) {
-            if(isLowerCase(character)) {
-               character = convertUpperCase(character);
-            }
-            character = (char) (((int) character - (vowel * consonant) - 65 + 26) % 26 + 65);
-            builder.append(character);
+      return substitute(text, (26 - (vowel(key) * consonant(key)) % 26) % 26);
+   }
+   
+   /**
+   *  Decrypts the ciphertext into plaintext using Caesar substitution.
+   *
+   *  @param text a line of ciphertext
+   *  @param key a compiled keyword
+   *  @return a line of plaintext
+   */
+   public String decipher(String text, CompiledKey key) {
+      return substitute(text, (26 - key.shift()) % 26);
+   }
+   
+   /**
+   *  Shifts every letter of a line through a translate table, dropping everything else.
+   *  Each entry holds the shifted uppercase letter, or zero for a character that is not a letter.
+   *
+   *  @param source an array holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the letters, starting at index zero
+   *  @param table the translate table of a certain shift
+   *  @return count the number of letters written
+   */
+   private int substitute(byte[] source, int offset, int length, byte[] target, byte[] table) {
+      int count = 0;
+      for (int index = 0; index < length; index++) {
+         byte character = table[source[offset + index] & 0xFF];
+         target[count] = character;
+         // A letter (65 to 90) pushes the sum past 127, a zero does not.
+         count += (character + 127) >>> 7;
+      }
+      return count;
+   }
+   
+   /**
+   *  Encrypts the plaintext into ciphertext using Caesar substitution.
+   *
+   *  @param source an array holding a line of ASCII plaintext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the ciphertext, with room for {@code length} letters
+   *  @param key a compiled keyword
+   *  @return the number of letters written
+   */
+   public int encipher(byte[] source, int offset, int length, byte[] target, CompiledKey key) {
+      if (IS_VECTORIZED) {
+         return VectorCaesar.substitute(source, offset, length, target, key.shift(), TABLES[key.shift()]);
+      }
+      return substitute(source, offset, length, target, TABLES[key.shift()]);
+   }
+   
+   /**
+   *  Decrypts the ciphertext into plaintext using Caesar substitution.
+   *
+   *  @param source an array holding a line of ASCII ciphertext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the plaintext, with room for {@code length} letters
+   *  @param key a compiled keyword
+   *  @return the number of letters written
+   */
+   public int decipher(byte[] source, int offset, int length, byte[] target, CompiledKey key) {
+      int shift = (26 - key.shift()) % 26;
+      if (IS_VECTORIZED) {
+         return VectorCaesar.substitute(source, offset, length, target, shift, TABLES[shift]);
+      }
+      return substitute(source, offset, length, target, TABLES[shift]);
+   }
+   
+   /**
+   *  Shifts every letter of a sequence through a translate table and appends it, dropping everything else.
+   *
+   *  @param source a sequence of ASCII text
+   *  @param target the destination of the letters
+   *  @param table the translate table of a certain shift
+   *  @return count the number of letters appended
+   *  @throws IOException if the destination cannot be appended to
+   */
+   private int substitute(CharSequence source, Appendable target, byte[] table) throws IOException {
+      int count = 0;
+      for (int index = 0; index < source.length(); index++) {
+         char character = source.charAt(index);
+         if (character < 256 && table[character] != 0) {
+            target.append((char) table[character]);
+            count++;
          }
       }
-      String ciphertext = builder.toString();
-      builder.setLength(0);
-      return ciphertext;
+      return count;
+   }
+   
+   /**
+   *  Shifts every letter of an array through a translate table, dropping everything else.
+   *
+   *  @param source an array holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the letters
+   *  @param to the index in the target to receive the first letter
+   *  @param table the translate table of a certain shift
+   *  @return count the number of letters written
+   */
+   private int substitute(char[] source, int offset, int length, char[] target, int to, byte[] table) {
+      int count = 0;
+      for (int index = offset; index < offset + length; index++) {
+         char character = source[index];
+         if (character < 256 && table[character] != 0) {
+            target[to + count++] = (char) table[character];
+         }
+      }
+      return count;
+   }
+   
+   /**
+   *  Encrypts a sequence of plaintext and appends the ciphertext, without building a {@code String}.
+   *
+   *  @param source a sequence of plaintext
+   *  @param target the destination of the ciphertext, such as a reused {@code StringBuilder}
+   *  @param key a compiled keyword
+   *  @return count the number of letters appended
+   *  @throws IOException if the destination cannot be appended to
+   */
+   public int encipher(CharSequence source, Appendable target, CompiledKey key) throws IOException {
+      return substitute(source, target, TABLES[key.shift()]);
+   }
+   
+   /**
+   *  Encrypts the plaintext held in an array into another array.
+   *
+   *  @param source an array holding a line of plaintext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the ciphertext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int encipher(char[] source, int offset, int length, char[] target, int to, CompiledKey key) {
+      return substitute(source, offset, length, target, to, TABLES[key.shift()]);
+   }
+   
+   /**
+   *  Decrypts a sequence of ciphertext and appends the plaintext, without building a {@code String}.
+   *
+   *  @param source a sequence of ciphertext
+   *  @param target the destination of the plaintext, such as a reused {@code StringBuilder}
+   *  @param key a compiled keyword
+   *  @return count the number of letters appended
+   *  @throws IOException if the destination cannot be appended to
+   */
+   public int decipher(CharSequence source, Appendable target, CompiledKey key) throws IOException {
+      return substitute(source, target, TABLES[(26 - key.shift()) % 26]);
+   }
+   
+   /**
+   *  Decrypts the ciphertext held in an array into another array.
+   *
+   *  @param source an array holding a line of ciphertext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the plaintext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int decipher(char[] source, int offset, int length, char[] target, int to, CompiledKey key) {
+      return substitute(source, offset, length, target, to, TABLES[(26 - key.shift()) % 26]);
    }
-}
\ No newline at end of file
+}
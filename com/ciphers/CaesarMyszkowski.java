@@ -0,0 +1,714 @@
+/*
+*  File Name: CaesarMyszkowski.java
+*  Dependencies: Caesar.java, Transposition.java, PlanCache.java and CompiledKey.java
+*
+*  Both stages of the Caesar-Myszkowski cipher fused into a single kernel.
+*  Each letter is filtered, shifted and written straight into its final transposed position,
+*  so no intermediate line is ever built between the two stages.
+*
+*  Notes:
+*  - The letters of a line are counted first, since the transposition depends on how many there are.
+*    Counting only reads the line, and the second pass is the only one that writes.
+*  - A line held in an array is counted on SIMD registers through {@code VectorCaesar} whenever {@code Caesar}
+*    runs its byte path there; a line in a buffer, such as a mapped file, is always counted by the scalar loop.
+*  - Also reads from character sequences and arrays and writes into appendables, character buffers and arrays,
+*    returning the number of letters written, so a caller reusing its buffers allocates nothing per line.
+*  - A thread keeps one scratch array of at most 65,536 letters for appendables and non-array buffers;
+*    a longer line is transposed in an array of its own.
+*  - Can read from one buffer and write into another, so a mapped file can be ciphered into direct memory
+*    without any line passing through the heap.
+*  - A very long line read as bytes is transposed in closed form, from the column offsets and strides alone,
+*    rather than through a permutation as long as the line, so its memory never multiplies across threads' caches.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+*  A fused Caesar substitution and Myszkowski transposition.
+*  Its only state is a thread-safe cache of transpositions, hence one instance can be shared across threads.
+*/
+public class CaesarMyszkowski {
+
+   // The letters bound for an appendable are transposed here first, one array per thread.
+   private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[256]);
+
+   // The largest scratch array a thread keeps; a longer line gets an array of its own.
+   private static final int SCRATCH_LIMIT = 1 << 16;
+
+   // Lines with more letters are transposed without a compiled permutation.
+   private static final int CLOSED_FORM = 1 << 16;
+
+   private final PlanCache cache;
+
+   /** Constructs a {@code CaesarMyszkowski} cipher. */
+   public CaesarMyszkowski() {
+      this(new PlanCache());
+   }
+
+   /**
+   *  Constructs a {@code CaesarMyszkowski} cipher that shares a cache of transpositions.
+   *
+   *  @param cache a cache of compiled transpositions
+   */
+   public CaesarMyszkowski(PlanCache cache) {
+      this.cache = cache;
+   }
+
+   /** The target position of every letter of a line, worked out as it goes rather than looked up. */
+   private static final class Walk {
+      final int keyL, count;
+      final int[] next, stride;
+      final int[][] groups;
+      int column, r, row, tie;
+
+      /**
+      *  Enciphering, the letter at row {@code t} of keyword position {@code i} lands at the column's offset
+      *  plus {@code t} strides, as laid out by {@link Transposition}. Deciphering, the ciphertext reads
+      *  each group of tied keyword positions in lexicographical order, row by row.
+      */
+      Walk(CompiledKey key, int count, boolean isEncipher) {
+         this.keyL = key.length();
+         this.count = count;
+         if (isEncipher) {
+            next = new int[keyL];
+            stride = new int[keyL];
+            Transposition.layout(key.rank(), key.ranks(), count, next, stride, new int[key.ranks()],
+               new int[key.ranks()]);
+            groups = null;
+         }
+         else {
+            next = null;
+            stride = null;
+            groups = key.groups();
+         }
+      }
+
+      int next() {
+         if (groups == null) {
+            int position = next[column];
+            next[column] += stride[column];
+            column = column + 1 == keyL ? 0 : column + 1;
+            return position;
+         }
+         int position;
+         do {
+            position = row * keyL + groups[r][tie];
+            if (++tie == groups[r].length) {
+               tie = 0;
+               if (++row * keyL + groups[r][0] >= count) {
+                  r++;
+                  row = 0;
+               }
+            }
+         } while (position >= count);
+         return position;
+      }
+   }
+
+   /**
+   *  Returns the cache of compiled transpositions.
+   *
+   *  @return cache the cache of transpositions
+   */
+   public PlanCache cache() {
+      return cache;
+   }
+
+   /**
+   *  Counts the letters of a line through a translate table, or on SIMD registers if the Vector API is in use.
+   *
+   *  @param source an array holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param table a translate table of {@code Caesar}
+   *  @return count the number of letters
+   */
+   private int count(byte[] source, int offset, int length, byte[] table) {
+      if (Caesar.isVectorized()) {
+         return VectorCaesar.count(source, offset, length, table);
+      }
+      int count = 0;
+      for (int index = offset; index < offset + length; index++) {
+         // A letter (65 to 90) pushes the sum past 127, a zero does not.
+         count += (table[source[index] & 0xFF] + 127) >>> 7;
+      }
+      return count;
+   }
+
+   /**
+   *  Counts the letters of a line held in a buffer through a translate table.
+   *
+   *  @param source a buffer holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param table a translate table of {@code Caesar}
+   *  @return count the number of letters
+   */
+   private int count(ByteBuffer source, int offset, int length, byte[] table) {
+      int count = 0;
+      for (int index = offset; index < offset + length; index++) {
+         count += (table[source.get(index) & 0xFF] + 127) >>> 7;
+      }
+      return count;
+   }
+
+   /**
+   *  Shifts every letter of a line and scatters it to the position a permutation gives it.
+   *
+   *  @param source an array holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the letters
+   *  @param to the index in the target to receive the first letter
+   *  @param table a translate table of {@code Caesar}
+   *  @param position the target position of every letter, in order of appearance
+   */
+   private void scatter(byte[] source, int offset, int length, byte[] target, int to, byte[] table, int[] position) {
+      int letter = 0;
+      for (int index = offset; index < offset + length; index++) {
+         byte character = table[source[index] & 0xFF];
+         if (character != 0) {
+            target[to + position[letter++]] = character;
+         }
+      }
+   }
+
+   /**
+   *  Shifts every letter of a line held in a buffer and scatters it to the position a permutation gives it.
+   *
+   *  @param source a buffer holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the letters
+   *  @param to the index in the target to receive the first letter
+   *  @param table a translate table of {@code Caesar}
+   *  @param position the target position of every letter, in order of appearance
+   */
+   private void scatter(ByteBuffer source, int offset, int length, byte[] target, int to, byte[] table, int[] position) {
+      int letter = 0;
+      for (int index = offset; index < offset + length; index++) {
+         byte character = table[source.get(index) & 0xFF];
+         if (character != 0) {
+            target[to + position[letter++]] = character;
+         }
+      }
+   }
+
+   private void scatter(byte[] source, int offset, int length, byte[] target, int to, byte[] table, Walk walk) {
+      for (int index = offset; index < offset + length; index++) {
+         byte character = table[source[index] & 0xFF];
+         if (character != 0) {
+            target[to + walk.next()] = character;
+         }
+      }
+   }
+
+   private void scatter(ByteBuffer source, int offset, int length, byte[] target, int to, byte[] table, Walk walk) {
+      for (int index = offset; index < offset + length; index++) {
+         byte character = table[source.get(index) & 0xFF];
+         if (character != 0) {
+            target[to + walk.next()] = character;
+         }
+      }
+   }
+
+   /**
+   *  Shifts every letter of a line and scatters it to its position in one direction,
+   *  in closed form if the line is very long and through a cached permutation otherwise.
+   *
+   *  @return count the number of letters written
+   */
+   private int scatter(byte[] source, int offset, int length, byte[] target, int to, CompiledKey key,
+                       boolean isEncipher) {
+      byte[] table = table(key, isEncipher);
+      int count = count(source, offset, length, table);
+      if (count > CLOSED_FORM) {
+         scatter(source, offset, length, target, to, table, new Walk(key, count, isEncipher));
+      }
+      else {
+         scatter(source, offset, length, target, to, table, positions(key, count, isEncipher));
+      }
+      return count;
+   }
+
+   /**
+   *  Shifts every letter of a line held in a buffer and scatters it to its position in one direction,
+   *  in closed form if the line is very long and through a cached permutation otherwise.
+   *
+   *  @return count the number of letters written
+   */
+   private int scatter(ByteBuffer source, int offset, int length, byte[] target, int to, CompiledKey key,
+                       boolean isEncipher) {
+      byte[] table = table(key, isEncipher);
+      int count = count(source, offset, length, table);
+      if (count > CLOSED_FORM) {
+         scatter(source, offset, length, target, to, table, new Walk(key, count, isEncipher));
+      }
+      else {
+         scatter(source, offset, length, target, to, table, positions(key, count, isEncipher));
+      }
+      return count;
+   }
+
+   /**
+   *  Encrypts a line of plaintext into ciphertext using both stages at once.
+   *
+   *  Note:
+   *  - Removes non-alphabetical characters from the original plaintext.
+   *
+   *  @param source an array holding a line of ASCII plaintext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the ciphertext, with room for {@code length} letters
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int encipher(byte[] source, int offset, int length, byte[] target, CompiledKey key) {
+      return encipher(source, offset, length, target, 0, key);
+   }
+
+   /**
+   *  Encrypts a line of plaintext into ciphertext using both stages at once.
+   *
+   *  @param source an array holding a line of ASCII plaintext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the ciphertext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int encipher(byte[] source, int offset, int length, byte[] target, int to, CompiledKey key) {
+      return scatter(source, offset, length, target, to, key, true);
+   }
+
+   /**
+   *  Decrypts a line of ciphertext into plaintext using both stages at once.
+   *
+   *  Note:
+   *  - Cannot restore to the original plaintext before it was encrypted.
+   *
+   *  @param source an array holding a line of ASCII ciphertext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the plaintext, with room for {@code length} letters
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int decipher(byte[] source, int offset, int length, byte[] target, CompiledKey key) {
+      return decipher(source, offset, length, target, 0, key);
+   }
+
+   /**
+   *  Decrypts a line of ciphertext into plaintext using both stages at once.
+   *
+   *  @param source an array holding a line of ASCII ciphertext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the plaintext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int decipher(byte[] source, int offset, int length, byte[] target, int to, CompiledKey key) {
+      return scatter(source, offset, length, target, to, key, false);
+   }
+
+   /**
+   *  Encrypts a line of plaintext held in a buffer, such as a memory-mapped file, using both stages at once.
+   *  The buffer is read with absolute indices only, so its position is left untouched.
+   *
+   *  @param source a buffer holding a line of ASCII plaintext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the ciphertext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int encipher(ByteBuffer source, int offset, int length, byte[] target, int to, CompiledKey key) {
+      return scatter(source, offset, length, target, to, key, true);
+   }
+
+   /**
+   *  Decrypts a line of ciphertext held in a buffer, such as a memory-mapped file, using both stages at once.
+   *  The buffer is read with absolute indices only, so its position is left untouched.
+   *
+   *  @param source a buffer holding a line of ASCII ciphertext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the plaintext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int decipher(ByteBuffer source, int offset, int length, byte[] target, int to, CompiledKey key) {
+      return scatter(source, offset, length, target, to, key, false);
+   }
+
+   private void scatter(ByteBuffer source, int offset, int length, ByteBuffer target, int to, byte[] table,
+                        int[] position) {
+      int letter = 0;
+      for (int index = offset; index < offset + length; index++) {
+         byte character = table[source.get(index) & 0xFF];
+         if (character != 0) {
+            target.put(to + position[letter++], character);
+         }
+      }
+   }
+
+   /**
+   *  Encrypts a line of plaintext held in one buffer into another, such as a memory-mapped file into direct memory.
+   *  Both buffers are accessed with absolute indices only, so their positions are left untouched.
+   *
+   *  @param source a buffer holding a line of ASCII plaintext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the buffer to receive the ciphertext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int encipher(ByteBuffer source, int offset, int length, ByteBuffer target, int to, CompiledKey key) {
+      byte[] table = Caesar.table(key.shift());
+      int count = count(source, offset, length, table);
+      if (count > CLOSED_FORM) {
+         scatter(source, offset, length, target, to, table, new Walk(key, count, true));
+      }
+      else {
+         scatter(source, offset, length, target, to, table, cache.compile(key, count).inverse());
+      }
+      return count;
+   }
+
+   /**
+   *  Decrypts a line of ciphertext held in one buffer into another, such as a memory-mapped file into direct memory.
+   *  Both buffers are accessed with absolute indices only, so their positions are left untouched.
+   *
+   *  @param source a buffer holding a line of ASCII ciphertext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the buffer to receive the plaintext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int decipher(ByteBuffer source, int offset, int length, ByteBuffer target, int to, CompiledKey key) {
+      byte[] table = Caesar.table((26 - key.shift()) % 26);
+      int count = count(source, offset, length, table);
+      if (count > CLOSED_FORM) {
+         scatter(source, offset, length, target, to, table, new Walk(key, count, false));
+      }
+      else {
+         scatter(source, offset, length, target, to, table, cache.compile(key, count).order());
+      }
+      return count;
+   }
+
+   private void scatter(ByteBuffer source, int offset, int length, ByteBuffer target, int to, byte[] table, Walk walk) {
+      for (int index = offset; index < offset + length; index++) {
+         byte character = table[source.get(index) & 0xFF];
+         if (character != 0) {
+            target.put(to + walk.next(), character);
+         }
+      }
+   }
+
+   /**
+   *  Extracts the letters of a line held in a buffer as uppercase, so that several keywords can cipher them
+   *  without filtering the line again.
+   *
+   *  @param source a buffer holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the letters, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @return count the number of letters written
+   */
+   public static int letters(ByteBuffer source, int offset, int length, byte[] target, int to) {
+      byte[] table = Caesar.table(0);
+      int count = 0;
+      for (int index = offset; index < offset + length; index++) {
+         byte character = table[source.get(index) & 0xFF];
+         target[to + count] = character;
+         count += (character + 127) >>> 7;
+      }
+      return count;
+   }
+
+   /**
+   *  Encrypts a line that is already only uppercase letters, skipping the count and the filter.
+   *
+   *  @param letters an array holding a line extracted by {@link #letters(ByteBuffer, int, int, byte[], int)}
+   *  @param offset the index of the first letter
+   *  @param count the number of letters
+   *  @param target the array to receive the ciphertext, with room for {@code count} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   */
+   public void encipherLetters(byte[] letters, int offset, int count, byte[] target, int to, CompiledKey key) {
+      place(letters, offset, count, target, to, key, true);
+   }
+
+   /**
+   *  Decrypts a line that is already only uppercase letters, skipping the count and the filter.
+   *
+   *  @param letters an array holding a line extracted by {@link #letters(ByteBuffer, int, int, byte[], int)}
+   *  @param offset the index of the first letter
+   *  @param count the number of letters
+   *  @param target the array to receive the plaintext, with room for {@code count} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   */
+   public void decipherLetters(byte[] letters, int offset, int count, byte[] target, int to, CompiledKey key) {
+      place(letters, offset, count, target, to, key, false);
+   }
+
+   private void place(byte[] letters, int offset, int count, byte[] target, int to, CompiledKey key,
+                      boolean isEncipher) {
+      byte[] table = table(key, isEncipher);
+      if (count > CLOSED_FORM) {
+         Walk walk = new Walk(key, count, isEncipher);
+         for (int letter = 0; letter < count; letter++) {
+            target[to + walk.next()] = table[letters[offset + letter]];
+         }
+         return;
+      }
+      int[] position = positions(key, count, isEncipher);
+      for (int letter = 0; letter < count; letter++) {
+         target[to + position[letter]] = table[letters[offset + letter]];
+      }
+   }
+
+   /**
+   *  Returns the translate table of one direction.
+   *
+   *  @param key a compiled keyword
+   *  @param isEncipher {@code true} to encipher, {@code false} to decipher
+   *  @return the translate table of {@code Caesar}
+   */
+   private static byte[] table(CompiledKey key, boolean isEncipher) {
+      return Caesar.table(isEncipher ? key.shift() : (26 - key.shift()) % 26);
+   }
+
+   /**
+   *  Returns the target position of every letter of a line in one direction.
+   *
+   *  @param key a compiled keyword
+   *  @param count the number of letters in the line
+   *  @param isEncipher {@code true} to encipher, {@code false} to decipher
+   *  @return position the target position of every letter, in order of appearance
+   */
+   private int[] positions(CompiledKey key, int count, boolean isEncipher) {
+      Transposition plan = cache.compile(key, count);
+      return isEncipher ? plan.inverse() : plan.order();
+   }
+
+   /**
+   *  Returns this thread's scratch array, grown to hold a certain number of letters.
+   *  A line longer than the limit gets a new array that is dropped with it,
+   *  so one long line never pins its size to the thread for good.
+   *
+   *  @param count the number of letters
+   *  @return scratch an array with room for {@code count} letters
+   */
+   private static char[] scratch(int count) {
+      if (count > SCRATCH_LIMIT) {
+         return new char[count];
+      }
+      char[] scratch = SCRATCH.get();
+      if (scratch.length < count) {
+         scratch = new char[Math.min(Math.max(count, 2 * scratch.length), SCRATCH_LIMIT)];
+         SCRATCH.set(scratch);
+      }
+      return scratch;
+   }
+
+   private int count(CharSequence source, byte[] table) {
+      int count = 0;
+      for (int index = 0; index < source.length(); index++) {
+         char character = source.charAt(index);
+         if (character < 256) {
+            count += (table[character] + 127) >>> 7;
+         }
+      }
+      return count;
+   }
+
+   private int count(char[] source, int offset, int length, byte[] table) {
+      int count = 0;
+      for (int index = offset; index < offset + length; index++) {
+         char character = source[index];
+         if (character < 256) {
+            count += (table[character] + 127) >>> 7;
+         }
+      }
+      return count;
+   }
+
+   private void scatter(CharSequence source, char[] target, int to, byte[] table, int[] position) {
+      int letter = 0;
+      for (int index = 0; index < source.length(); index++) {
+         char character = source.charAt(index);
+         if (character < 256 && table[character] != 0) {
+            target[to + position[letter++]] = (char) table[character];
+         }
+      }
+   }
+
+   private void scatter(char[] source, int offset, int length, char[] target, int to, byte[] table, int[] position) {
+      int letter = 0;
+      for (int index = offset; index < offset + length; index++) {
+         char character = source[index];
+         if (character < 256 && table[character] != 0) {
+            target[to + position[letter++]] = (char) table[character];
+         }
+      }
+   }
+
+   /**
+   *  Ciphers a sequence and appends the result through this thread's scratch array.
+   *
+   *  @param source a sequence of ASCII text
+   *  @param target the destination of the letters
+   *  @param key a compiled keyword
+   *  @param isEncipher {@code true} to encipher, {@code false} to decipher
+   *  @return count the number of letters appended
+   *  @throws IOException if the destination cannot be appended to
+   */
+   private int process(CharSequence source, Appendable target, CompiledKey key, boolean isEncipher) throws IOException {
+      byte[] table = table(key, isEncipher);
+      int count = count(source, table);
+      char[] scratch = scratch(count);
+      scatter(source, scratch, 0, table, positions(key, count, isEncipher));
+      for (int i = 0; i < count; i++) {
+         target.append(scratch[i]);
+      }
+      return count;
+   }
+
+   /**
+   *  Ciphers a sequence into a buffer at its position, then advances the position past the letters.
+   *
+   *  @param source a sequence of ASCII text
+   *  @param target the buffer to receive the letters
+   *  @param key a compiled keyword
+   *  @param isEncipher {@code true} to encipher, {@code false} to decipher
+   *  @return count the number of letters written
+   */
+   private int process(CharSequence source, CharBuffer target, CompiledKey key, boolean isEncipher) {
+      byte[] table = table(key, isEncipher);
+      int count = count(source, table);
+      if (target.remaining() < count) {
+         throw new BufferOverflowException();
+      }
+      int[] position = positions(key, count, isEncipher);
+      if (target.hasArray()) {
+         scatter(source, target.array(), target.arrayOffset() + target.position(), table, position);
+         target.position(target.position() + count);
+      }
+      else {
+         char[] scratch = scratch(count);
+         scatter(source, scratch, 0, table, position);
+         target.put(scratch, 0, count);
+      }
+      return count;
+   }
+
+   /**
+   *  Encrypts a sequence of plaintext and appends the ciphertext, without building a {@code String}.
+   *
+   *  @param source a sequence of ASCII plaintext
+   *  @param target the destination of the ciphertext, such as a reused {@code StringBuilder}
+   *  @param key a compiled keyword
+   *  @return count the number of letters appended
+   *  @throws IOException if the destination cannot be appended to
+   */
+   public int encipher(CharSequence source, Appendable target, CompiledKey key) throws IOException {
+      return process(source, target, key, true);
+   }
+
+   /**
+   *  Encrypts a sequence of plaintext into a buffer at its position, which is advanced past the ciphertext.
+   *
+   *  @param source a sequence of ASCII plaintext
+   *  @param target the buffer to receive the ciphertext
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   *  @throws BufferOverflowException if the buffer has no room for every letter, in which case it is left untouched
+   */
+   public int encipher(CharSequence source, CharBuffer target, CompiledKey key) {
+      return process(source, target, key, true);
+   }
+
+   /**
+   *  Encrypts the plaintext held in an array into another array using both stages at once.
+   *
+   *  @param source an array holding a line of ASCII plaintext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the ciphertext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int encipher(char[] source, int offset, int length, char[] target, int to, CompiledKey key) {
+      byte[] table = table(key, true);
+      int count = count(source, offset, length, table);
+      scatter(source, offset, length, target, to, table, positions(key, count, true));
+      return count;
+   }
+
+   /**
+   *  Decrypts a sequence of ciphertext and appends the plaintext, without building a {@code String}.
+   *
+   *  @param source a sequence of ASCII ciphertext
+   *  @param target the destination of the plaintext, such as a reused {@code StringBuilder}
+   *  @param key a compiled keyword
+   *  @return count the number of letters appended
+   *  @throws IOException if the destination cannot be appended to
+   */
+   public int decipher(CharSequence source, Appendable target, CompiledKey key) throws IOException {
+      return process(source, target, key, false);
+   }
+
+   /**
+   *  Decrypts a sequence of ciphertext into a buffer at its position, which is advanced past the plaintext.
+   *
+   *  @param source a sequence of ASCII ciphertext
+   *  @param target the buffer to receive the plaintext
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   *  @throws BufferOverflowException if the buffer has no room for every letter, in which case it is left untouched
+   */
+   public int decipher(CharSequence source, CharBuffer target, CompiledKey key) {
+      return process(source, target, key, false);
+   }
+
+   /**
+   *  Decrypts the ciphertext held in an array into another array using both stages at once.
+   *
+   *  @param source an array holding a line of ASCII ciphertext
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the plaintext, with room for {@code length} letters
+   *  @param to the index in the target to receive the first letter
+   *  @param key a compiled keyword
+   *  @return count the number of letters written
+   */
+   public int decipher(char[] source, int offset, int length, char[] target, int to, CompiledKey key) {
+      byte[] table = table(key, false);
+      int count = count(source, offset, length, table);
+      scatter(source, offset, length, target, to, table, positions(key, count, false));
+      return count;
+   }
+}
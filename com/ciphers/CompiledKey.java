@@ -0,0 +1,214 @@
+/*
+*  File Name: CompiledKey.java
+*
+*  A keyword that has been validated once, with everything both ciphers derive from it worked out in advance:
+*  the Caesar shift, the lexicographical order of each column, and the groups of recurring letters.
+*
+*  Notes:
+*  - Immutable, hence it can be shared across threads and ciphers.
+*  - The keyword must be five to ten uppercase letters with at least one recurring letter,
+*    and no letter may occur more than three times.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+/** A validated and precomputed keyword. */
+public final class CompiledKey {
+
+   private final String keyword;
+   private final int shift;
+   private final int ranks;
+   private final int[] rank;
+   private final int[][] groups;
+
+   /**
+   *  Constructs a {@code CompiledKey} from a keyword.
+   *
+   *  @param key a certain keyword
+   *  @throws IllegalArgumentException if the keyword is not valid
+   */
+   public CompiledKey(String key) {
+      String problem = validate(key);
+      if (problem != null) {
+         throw new IllegalArgumentException(problem);
+      }
+      int[] frequency = frequency(key);
+      int[] lexicography = new int[26];
+      int counter = 0;
+      for (int i = 0; i < 26; i++) {
+         if (frequency[i] != 0) {
+            lexicography[i] = counter++;
+         }
+      }
+      int vowel = 0;
+      this.keyword = key;
+      this.ranks = counter;
+      this.rank = new int[key.length()];
+      this.groups = new int[counter][];
+      for (int i = 0; i < key.length(); i++) {
+         char character = key.charAt(i);
+         if (isVowel(character)) {
+            vowel++;
+         }
+         rank[i] = lexicography[character - 65];
+      }
+      for (int i = 0; i < 26; i++) {
+         if (frequency[i] != 0) {
+            groups[lexicography[i]] = new int[frequency[i]];
+            frequency[i] = 0;
+         }
+      }
+      for (int i = 0; i < key.length(); i++) {
+         int letter = key.charAt(i) - 65;
+         groups[rank[i]][frequency[letter]++] = i;
+      }
+      this.shift = (vowel * (key.length() - vowel)) % 26;
+   }
+
+   /**
+   *  Tests a certain keyword against every rule of a valid keyword.
+   *
+   *  @param key a certain keyword
+   *  @return the first rule the keyword breaks, or {@code null} if the keyword is valid
+   */
+   public static String validate(String key) {
+      if (key.length() < 5 || key.length() > 10) {
+         return "The keyword must be five to ten letters.";
+      }
+      for (char c : key.toCharArray()) {
+         if (Character.isLetter(c) && Character.isLowerCase(c)) {
+            return "Every letter in the keyword must be in uppercase.";
+         }
+      }
+      for (char c : key.toCharArray()) {
+         if (c < 'A' || c > 'Z') {
+            return "The keyword must only have alphabetic letters.";
+         }
+      }
+      int[] frequency = frequency(key);
+      int highest = 0;
+      for (int i = 0; i < 26; i++) {
+         highest = Math.max(highest, frequency[i]);
+      }
+      if (highest < 2) {
+         return "The keyword must have at least one recurring letter.";
+      }
+      if (highest > 3) {
+         return "There are too much recurring letters in the keyword.";
+      }
+      return null;
+   }
+
+   /**
+   *  Determines the frequency of each letters in the keyword.
+   *
+   *  @param key an uppercase keyword
+   *  @return frequency the frequency of letters
+   */
+   private static int[] frequency(String key) {
+      int[] frequency = new int[26];
+      for (int i = 0; i < key.length(); i++) {
+         frequency[key.charAt(i) - 65]++;
+      }
+      return frequency;
+   }
+
+   /**
+   *  Tests if a letter is a vowel.
+   *
+   *  @param character a certain character
+   *  @return {@code true} if a letter is a vowel, otherwise return {@code false}
+   */
+   private static boolean isVowel(char character) {
+      return (character == 'A' ||
+              character == 'E' ||
+              character == 'I' ||
+              character == 'O' ||
+              character == 'U');
+   }
+
+   /**
+   *  Returns the keyword.
+   *
+   *  @return keyword the keyword
+   */
+   public String keyword() {
+      return keyword;
+   }
+
+   /**
+   *  Returns the number of letters in the keyword.
+   *
+   *  @return the length of the keyword
+   */
+   public int length() {
+      return rank.length;
+   }
+
+   /**
+   *  Returns the Caesar shift, the number of vowels times the number of consonants modulo 26.
+   *
+   *  @return shift the Caesar shift
+   */
+   public int shift() {
+      return shift;
+   }
+
+   /**
+   *  Returns the number of unique letters in the keyword.
+   *
+   *  @return ranks the number of columns read by Myszkowski transposition
+   */
+   public int ranks() {
+      return ranks;
+   }
+
+   /**
+   *  Returns the lexicographical order of each letter in the keyword.
+   *
+   *  @return a copy of the column order
+   */
+   public int[] order() {
+      return rank.clone();
+   }
+
+   /**
+   *  Returns the keyword positions sharing each letter, in lexicographical order.
+   *
+   *  @return a copy of the groups of recurring letters
+   */
+   public int[][] groups() {
+      int[][] copy = new int[groups.length][];
+      for (int i = 0; i < groups.length; i++) {
+         copy[i] = groups[i].clone();
+      }
+      return copy;
+   }
+
+   /**
+   *  Returns the lexicographical order of each letter in the keyword without copying it.
+   *
+   *  @return rank the column order
+   */
+   int[] rank() {
+      return rank;
+   }
+
+   @Override
+   public boolean equals(Object other) {
+      return other instanceof CompiledKey && keyword.equals(((CompiledKey) other).keyword);
+   }
+
+   @Override
+   public int hashCode() {
+      return keyword.hashCode();
+   }
+
+   @Override
+   public String toString() {
+      return keyword;
+   }
+}
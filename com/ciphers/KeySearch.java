@@ -0,0 +1,490 @@
+/*
+*  File Name: KeySearch.java
+*  Dependencies: Caesar.java
+*
+*  Recovers every valid keyword that turns a known line of plaintext into a certain line of ciphertext.
+*  The Caesar stage only depends on the keyword's shift, and the Myszkowski stage only on its rank pattern,
+*  so the search runs over (shift, pattern) classes instead of keywords and only spells out keywords at the end.
+*
+*  Notes:
+*  - A shift is only tried if it turns the plaintext's letters into the same multiset as the ciphertext's.
+*  - A pattern is built one column at a time, from the first in the ciphertext to the last, and abandoned
+*    as soon as a column disagrees with the ciphertext, so most patterns are never completed.
+*  - The patterns of every shift and keyword length are searched in parallel on a fork-join pool.
+*  - Only keywords no longer than the known line are searched: past its last letter a position is never
+*    compared with the ciphertext, so every pattern would agree and the matches would be all of them.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/** A parallel known-plaintext search for keywords. */
+public class KeySearch implements Closeable {
+
+   private static final boolean[] VOWEL = new boolean[26];
+
+   static {
+      for (char vowel : "AEIOU".toCharArray()) {
+         VOWEL[vowel - 'A'] = true;
+      }
+   }
+
+   private final ForkJoinPool pool;
+   private final LongAdder tested = new LongAdder();
+
+   /** A class of keywords sharing one shift and one rank pattern, all consistent with the input. */
+   public static final class Match {
+      private final int shift;
+      private final int[] rank;
+      private final int[] sizes;
+      private final long keywords;
+
+      Match(int shift, int[] rank, int[] sizes, long keywords) {
+         this.shift = shift;
+         this.rank = rank;
+         this.sizes = sizes;
+         this.keywords = keywords;
+      }
+
+      /**
+      *  Returns the Caesar shift of every keyword in the class.
+      *
+      *  @return shift the number of positions, from zero to twenty-five
+      */
+      public int shift() {
+         return shift;
+      }
+
+      /**
+      *  Returns the length of every keyword in the class.
+      *
+      *  @return the number of letters in a keyword
+      */
+      public int length() {
+         return rank.length;
+      }
+
+      /**
+      *  Returns the lexicographical order of each letter of every keyword in the class.
+      *
+      *  @return rank a copy of the rank pattern
+      */
+      public int[] rank() {
+         return rank.clone();
+      }
+
+      /**
+      *  Returns the number of valid keywords in the class.
+      *
+      *  @return keywords the number of keywords
+      */
+      public long keywords() {
+         return keywords;
+      }
+
+      /**
+      *  Spells the rank pattern with the first letters of the alphabet, e.g. {@code BABCA}.
+      *
+      *  @return pattern the rank pattern as letters
+      */
+      public String pattern() {
+         char[] pattern = new char[rank.length];
+         for (int i = 0; i < rank.length; i++) {
+            pattern[i] = (char) ('A' + rank[i]);
+         }
+         return new String(pattern);
+      }
+
+      @Override
+      public String toString() {
+         return "shift " + shift + ", pattern " + pattern() + ", " + keywords + " keyword(s)";
+      }
+   }
+
+   /** Constructs a {@code KeySearch} on every available processor. */
+   public KeySearch() {
+      this(Runtime.getRuntime().availableProcessors());
+   }
+
+   /**
+   *  Constructs a {@code KeySearch} on a fork-join pool of its own.
+   *
+   *  @param parallelism the number of threads
+   */
+   public KeySearch(int parallelism) {
+      this.pool = new ForkJoinPool(parallelism);
+   }
+
+   /**
+   *  Finds every class of valid keywords that enciphers a known line of plaintext into a line of ciphertext.
+   *
+   *  @param plaintext a known line of plaintext
+   *  @param ciphertext the same line enciphered
+   *  @return matches every consistent class, ordered by shift, length and pattern
+   *  @throws IllegalArgumentException if the plaintext has fewer letters than the shortest keyword
+   */
+   public List<Match> search(String plaintext, String ciphertext) {
+      byte[] plain = letters(plaintext);
+      byte[] cipher = letters(ciphertext);
+      if (plain.length < 5) {
+         throw new IllegalArgumentException(
+            "The plaintext must have at least 5 letters, the length of the shortest keyword.");
+      }
+      List<Match> matches = Collections.synchronizedList(new ArrayList<Match>());
+      if (plain.length != cipher.length) {
+         return matches;
+      }
+      List<Search> searches = new ArrayList<>();
+      for (int shift = 0; shift < 26; shift++) {
+         byte[] shifted = new byte[plain.length];
+         byte[] table = Caesar.table(shift);
+         for (int i = 0; i < plain.length; i++) {
+            shifted[i] = table[plain[i]];
+         }
+         if (!isAnagram(shifted, cipher)) {
+            continue;
+         }
+         for (int length = 5; length <= Math.min(10, plain.length); length++) {
+            if (isReachable(shift, length)) {
+               searches.add(new Search(shifted, cipher, shift, length, matches));
+            }
+         }
+      }
+      pool.invoke(new RecursiveAction() {
+         @Override
+         protected void compute() {
+            invokeAll(searches);
+         }
+      });
+      Collections.sort(matches, Comparator.comparingInt(Match::shift).thenComparingInt(Match::length)
+         .thenComparing(Match::pattern));
+      return matches;
+   }
+
+   /**
+   *  Spells out every valid keyword of a class, handing the letters to the ranks in alphabetical order.
+   *
+   *  @param match a class of keywords
+   *  @param consumer the receiver of each keyword
+   */
+   public static void keywords(Match match, Consumer<String> consumer) {
+      keywords(match, Long.MAX_VALUE, consumer);
+   }
+
+   /**
+   *  Spells out the first valid keywords of a class, handing the letters to the ranks in alphabetical order,
+   *  and stops as soon as enough have been spelled.
+   *
+   *  @param match a class of keywords
+   *  @param limit the most keywords to spell
+   *  @param consumer the receiver of each keyword
+   */
+   public static void keywords(Match match, long limit, Consumer<String> consumer) {
+      if (limit < 1) {
+         return;
+      }
+      long[] spelled = {0};
+      spell(match, 0, 0, 0, new char[match.sizes.length], keyword -> {
+         consumer.accept(keyword);
+         return ++spelled[0] < limit;
+      });
+   }
+
+   /**
+   *  Returns the first valid keyword of a class, handing the letters to the ranks in alphabetical order.
+   *
+   *  @param match a class of keywords
+   *  @return the first keyword, or {@code null} if the class has none
+   */
+   public static String keyword(Match match) {
+      String[] first = new String[1];
+      spell(match, 0, 0, 0, new char[match.sizes.length], keyword -> {
+         first[0] = keyword;
+         return false;
+      });
+      return first[0];
+   }
+
+   /**
+   *  Spells out the keywords of a class until the receiver asks to stop.
+   *
+   *  @return {@code false} if the receiver asked to stop, otherwise {@code true}
+   */
+   private static boolean spell(Match match, int rank, int from, int vowels, char[] letters, Predicate<String> receiver) {
+      int ranks = match.sizes.length;
+      if (rank == ranks) {
+         if (shift(vowels, match.rank.length) == match.shift) {
+            char[] keyword = new char[match.rank.length];
+            for (int i = 0; i < keyword.length; i++) {
+               keyword[i] = letters[match.rank[i]];
+            }
+            return receiver.test(new String(keyword));
+         }
+         return true;
+      }
+      for (int letter = from; letter <= 26 - (ranks - rank); letter++) {
+         letters[rank] = (char) ('A' + letter);
+         if (!spell(match, rank + 1, letter + 1, vowels + (VOWEL[letter] ? match.sizes[rank] : 0), letters, receiver)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+   *  Counts the valid keywords of a rank pattern whose shift is a certain one.
+   *  Letters are handed to the ranks in alphabetical order, tracking how many positions receive a vowel.
+   *
+   *  @param shift the Caesar shift
+   *  @param sizes the number of keyword positions of each rank
+   *  @param length the length of the keyword
+   *  @return count the number of keywords
+   */
+   static long count(int shift, int[] sizes, int length) {
+      int ranks = sizes.length;
+      long[][] ways = new long[ranks + 1][length + 1];
+      ways[0][0] = 1;
+      for (int letter = 0; letter < 26; letter++) {
+         for (int rank = Math.min(letter, ranks - 1); rank >= 0; rank--) {
+            int added = VOWEL[letter] ? sizes[rank] : 0;
+            for (int vowels = 0; vowels + added <= length; vowels++) {
+               ways[rank + 1][vowels + added] += ways[rank][vowels];
+            }
+         }
+      }
+      long count = 0;
+      for (int vowels = 0; vowels <= length; vowels++) {
+         if (shift(vowels, length) == shift) {
+            count += ways[ranks][vowels];
+         }
+      }
+      return count;
+   }
+
+   private static int shift(int vowels, int length) {
+      return vowels * (length - vowels) % 26;
+   }
+
+   static boolean isReachable(int shift, int length) {
+      for (int vowels = 0; vowels <= length; vowels++) {
+         if (shift(vowels, length) == shift) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private static boolean isAnagram(byte[] a, byte[] b) {
+      int[] difference = new int[128];
+      for (int i = 0; i < a.length; i++) {
+         difference[a[i]]++;
+         difference[b[i]]--;
+      }
+      for (int count : difference) {
+         if (count != 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static byte[] letters(String text) {
+      byte[] letters = new byte[text.length()];
+      int count = 0;
+      for (int i = 0; i < text.length(); i++) {
+         char character = text.charAt(i);
+         if (character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z') {
+            letters[count++] = (byte) (character & 0xDF);
+         }
+      }
+      return Arrays.copyOf(letters, count);
+   }
+
+   /** The patterns of one shift and keyword length, forked once per first column. */
+   @SuppressWarnings("serial")
+   private class Search extends RecursiveAction {
+      final byte[] shifted, cipher;
+      final int shift, length;
+      final List<Match> matches;
+      final int[] rank;
+      final int[] sizes = new int[10];
+      int ranks, used, out, largest;
+      long count;
+      final boolean isRoot;
+
+      Search(byte[] shifted, byte[] cipher, int shift, int length, List<Match> matches) {
+         this.shifted = shifted;
+         this.cipher = cipher;
+         this.shift = shift;
+         this.length = length;
+         this.matches = matches;
+         this.rank = new int[length];
+         this.isRoot = true;
+      }
+
+      Search(Search parent) {
+         this.shifted = parent.shifted;
+         this.cipher = parent.cipher;
+         this.shift = parent.shift;
+         this.length = parent.length;
+         this.matches = parent.matches;
+         this.rank = parent.rank.clone();
+         System.arraycopy(parent.sizes, 0, sizes, 0, sizes.length);
+         this.ranks = parent.ranks;
+         this.used = parent.used;
+         this.out = parent.out;
+         this.largest = parent.largest;
+         this.isRoot = false;
+      }
+
+      @Override
+      protected void compute() {
+         if (isRoot) {
+            List<Search> children = new ArrayList<>();
+            forEachColumn(new Consumer<int[]>() {
+               @Override
+               public void accept(int[] column) {
+                  int mark = out;
+                  count++;
+                  if (take(column)) {
+                     children.add(new Search(Search.this));
+                     release(column);
+                  }
+                  out = mark;
+               }
+            });
+            tested.add(count);
+            invokeAll(children);
+         }
+         else {
+            extend();
+            tested.add(count);
+         }
+      }
+
+      /** Tries every next column on top of the columns taken so far. */
+      private void extend() {
+         if (used == (1 << length) - 1) {
+            if (largest >= 2) {
+               int[] pattern = Arrays.copyOf(sizes, ranks);
+               long keywords = count(shift, pattern, length);
+               if (keywords > 0) {
+                  matches.add(new Match(shift, rank.clone(), pattern, keywords));
+               }
+            }
+            return;
+         }
+         forEachColumn(new Consumer<int[]>() {
+            @Override
+            public void accept(int[] column) {
+               int mark = out;
+               count++;
+               if (take(column)) {
+                  extend();
+                  release(column);
+               }
+               out = mark;
+            }
+         });
+      }
+
+      /**
+      *  Hands every set of one to three free keyword positions, as the next column, to a consumer.
+      *
+      *  @param consumer the receiver of each column, sorted ascending; the array is reused
+      */
+      private void forEachColumn(Consumer<int[]> consumer) {
+         int[] one = new int[1], two = new int[2], three = new int[3];
+         for (int a = 0; a < length; a++) {
+            if ((used >>> a & 1) != 0) {
+               continue;
+            }
+            one[0] = a;
+            consumer.accept(one);
+            for (int b = a + 1; b < length; b++) {
+               if ((used >>> b & 1) != 0) {
+                  continue;
+               }
+               two[0] = a;
+               two[1] = b;
+               consumer.accept(two);
+               for (int c = b + 1; c < length; c++) {
+                  if ((used >>> c & 1) != 0) {
+                     continue;
+                  }
+                  three[0] = a;
+                  three[1] = b;
+                  three[2] = c;
+                  consumer.accept(three);
+               }
+            }
+         }
+      }
+
+      /**
+      *  Reads a column off the grid, row by row, and compares it with the next letters of the ciphertext.
+      *  Takes the column as the next rank if they all agree.
+      *
+      *  @param column the keyword positions sharing the next rank
+      *  @return {@code true} if the column agrees with the ciphertext, otherwise {@code false}
+      */
+      private boolean take(int[] column) {
+         for (int row = 0; row < shifted.length; row += length) {
+            for (int position : column) {
+               int index = row + position;
+               if (index < shifted.length && shifted[index] != cipher[out++]) {
+                  return false;
+               }
+            }
+         }
+         for (int position : column) {
+            rank[position] = ranks;
+            used |= 1 << position;
+         }
+         sizes[ranks++] = column.length;
+         largest = Math.max(largest, column.length);
+         return true;
+      }
+
+      private void release(int[] column) {
+         for (int position : column) {
+            used &= ~(1 << position);
+         }
+         ranks--;
+         largest = 0;
+         for (int i = 0; i < ranks; i++) {
+            largest = Math.max(largest, sizes[i]);
+         }
+      }
+   }
+
+   /**
+   *  Returns the number of partial patterns tested so far, across every search.
+   *
+   *  @return the number of candidate columns compared with a ciphertext
+   */
+   public long tested() {
+      return tested.sum();
+   }
+
+   /** Shuts down the fork-join pool. */
+   @Override
+   public void close() {
+      pool.shutdown();
+   }
+}
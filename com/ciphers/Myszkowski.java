@@ -1,6 +1,6 @@
 /*
 *  File Name: Myszkowski.java
-*  Dependencies: HashTable.java and Queue.java
+*  Dependencies: Transposition.java, PlanCache.java and CompiledKey.java
 *
 *  Myszkowski transposition isa variant form of columnar transposition that requires a keyword with recurrent letters.
 *
@@ -14,19 +14,35 @@
 
 package com.ciphers;
 
-import com.assets.HashTable;
-import com.assets.Queue;
-
-/** A variant of columnnar transposition. */
+/**
+*  A variant of columnnar transposition.
+*  Its only state is a thread-safe cache of transpositions, hence one instance can be shared across threads.
+*/
 public class Myszkowski {
    
-   private StringBuilder builder;
-   private HashTable table;
-   private Queue queue;
+   private final PlanCache cache;
    
    /** Constructs a {@code Myskowski()} cipher. */
    public Myszkowski() {
-      builder = new StringBuilder();
+      this(new PlanCache());
+   }
+   
+   /**
+   *  Constructs a {@code Myskowski()} cipher that shares a cache of transpositions.
+   *
+   *  @param cache a cache of compiled transpositions
+   */
+   public Myszkowski(PlanCache cache) {
+      this.cache = cache;
+   }
+   
+   /**
+   *  Returns the cache of compiled transpositions.
+   *
+   *  @return cache the cache of transpositions
+   */
+   public PlanCache cache() {
+      return cache;
    }
    
    /**
@@ -51,240 +67,135 @@ public class Myszkowski {
    }
    
    /**
-   *  Converts a letter into a number.
-   *
-   *  @param character a certain character
-   *  @return number a certain number
-   */
-   private int numberOf(char character) {
-      int number = (int) (character - 65);
-      return number;
-   }
-   
-   /**
-   *  Determines the number of possible rows.
+   *  Compiles the transposition of a line with a certain number of letters,
+   *  unless one for the same keyword and length is already cached.
    *
    *  @param key a valid keyword
-   *  @param text a line of text
-   *  @return row the number of rows
+   *  @param length the number of letters in a line
+   *  @return transposition the compiled permutation
    */
-   private int row(String key, String text) {
-      int keyL = key.length();
-      int textL = text.length();
-      int row = 1;
-      if(textL == keyL) {
-         return row;
-      }
-      while (textL > keyL) {
-         textL -= keyL;
-         row++;
-      }  
-      return row;
+   private Transposition compile(String key, int length) {
+      return cache.compile(key, length);
    }
    
    /**
-   *  Determines the number of possible columns with potruding row.
+   *  Extracts the letters of a line of text.
    *
-   *  @param key a valid keyword
    *  @param text a line of text
-   *  @return column the number of columns
+   *  @return letters the letters of the line, trimmed to size
    */
-   private int column(String key, String text) {
-      int keyL = key.length();
-      int textL = text.length();
-      int column = 0;
-      if (textL == 0 || keyL == 0 || textL == keyL) {
-         return column;
+   private char[] letters(String text) {
+      char[] letters = new char[text.length()];
+      int count = 0;
+      for (int index = 0; index < text.length(); index++) {
+         char character = text.charAt(index);
+         if (isAlphabet(character)) {
+            letters[count++] = character;
+         }
       }
-      else {
-         column = textL % keyL;
+      if (count == letters.length) {
+         return letters;
       }
-      return column;
+      char[] trimmed = new char[count];
+      System.arraycopy(letters, 0, trimmed, 0, count);
+      return trimmed;
    }
    
    /**
-   *  Determines the frequency of each letters in the keyword.
+   *  Encypts the plaintext into ciphertext using Myszkowski transposition.
    *
-   *  @param key a valid keyword
-   *  @return frequency the frequency of letters
-   */
-   private int[] frequency(String key) {
-      char[] keys = key.toCharArray();
-      int[] frequency = new int[26];
-      for (int i = 0; i < keys.length; i++) {
-         frequency[keys[i] - 65]++;
-      }
-      return frequency;
-   }
-   
-   /**
-   *  Determines the lexicographical order of each letters in the keyword.
+   *  Note:
+   *  - Removes non-alphabetical characters from the original plaintext.
    *
+   *  @param text a line of ciphertext
    *  @param key a valid keyword
-   *  @return lexicography the lexicographical order of letters
+   *  @return a line of plaintext
    */
-   private int[] lexicography(String key) {
-      char[] keys = key.toCharArray();
-      int[] lexicography = new int[26];
-      int[] frequency = frequency(key);
-      int counter = 0;
-      for (int i = 0; i < 26; i++) {
-         if (frequency[i] != 0) {
-            lexicography[i] = counter++;
-         }
-      }
-      return lexicography;
+   public String encipher(String text, String key) {
+      char[] letters = letters(text);
+      char[] ciphertext = new char[letters.length];
+      compile(key, letters.length).encipher(letters, ciphertext);
+      return new String(ciphertext);
    }
    
    /**
-   *  Generates an order for inserting characters in the hash table depending on the keyword.
+   *  Encypts the plaintext into ciphertext using Myszkowski transposition.
    *
-   *  @param key a valid keyword
-   *  @return queue the order of insertion
+   *  @param text a line of plaintext
+   *  @param key a compiled keyword
+   *  @return a line of ciphertext
    */
-   private Queue generateOrder(String key) {
-      Queue queue = new Queue(key.length());
-      char[] keys = key.toCharArray();
-      int[] frequency = frequency(key);
-      int[] lexicography = lexicography(key);
-      for (char character : keys) {
-         if(frequency[numberOf(character)] >= 2 ) {
-            queue.offer(lexicography[numberOf(character)]);
-         }
-         else {
-            queue.offer(lexicography[numberOf(character)]);
-         }
-      }
-      return queue;
+   public String encipher(String text, CompiledKey key) {
+      char[] letters = letters(text);
+      char[] ciphertext = new char[letters.length];
+      cache.compile(key, letters.length).encipher(letters, ciphertext);
+      return new String(ciphertext);
    }
    
    /**
-   *  Generates a cutoff interval for inserting characters in the hash table.
+   *  Decrypts the ciphertext into plaintext using Myszkowski transposition.
+   *
+   *  Note:
+   *  - Cannot restore to the original plaintext before it was encrypted.
    *
+   *  @param text a line of ciphertext
    *  @param key a valid keyword
-   *  @param row the number of rows
-   *  @param column the number of columns with potruding rows
-   *  @return cutoff the number of cutoff
+   *  @return a line of plaintext
    */
-   private int[] generateCutoff(String key, int row, int column) {
-      int[] interval = new int[key.length()];
-      int[] cutoff = new int[length(key)];
-      Queue order = generateOrder(key);
-      int x = row;
-      int y = column;
-      int roll, index;
-      for (int i = 0; i < key.length(); i++) {
-         if (column == 0) {
-            interval[i] = x;
-         }
-         else if (y > 0) {
-            interval[i] = x;
-            y--;
-         }
-         else if (y == 0) {
-            interval[i] = (x-1);
-         }
-      }
-      for (int i = 0; i < key.length(); i++) {
-         roll = order.poll();
-         cutoff[roll] += interval[i];
-      } 
-      return cutoff;
+   public String decipher(String text, String key) {
+      char[] letters = letters(text);
+      char[] plaintext = new char[letters.length];
+      compile(key, letters.length).decipher(letters, plaintext);
+      return new String(plaintext);
    }
-
+   
    /**
-   *  Reduces the keyword's length by each recurring letter.
+   *  Decrypts the ciphertext into plaintext using Myszkowski transposition.
    *
-   *  @param key a valid keyword
-   *  @return length number of unique letters
+   *  @param text a line of ciphertext
+   *  @param key a compiled keyword
+   *  @return a line of plaintext
    */
-   private int length(String key) {
-      int length = key.length();
-      int[] frequency = frequency(key);
-      for (int i = 0; i < 26; i++) {
-         if (frequency[i] >= 2) {
-            length -= (frequency[i] - 1);
-         }
-      }
-      return length;
+   public String decipher(String text, CompiledKey key) {
+      char[] letters = letters(text);
+      char[] plaintext = new char[letters.length];
+      cache.compile(key, letters.length).decipher(letters, plaintext);
+      return new String(plaintext);
    }
    
    /**
    *  Encypts the plaintext into ciphertext using Myszkowski transposition.
    *
    *  Note:
-   *  - Removes non-alphabetical characters from the original plaintext.
+   *  - Expects uppercase letters only, such as the output of {@code Caesar}.
    *
-   *  @param text a line of ciphertext
-   *  @param key a valid keyword
-   *  @return a line of plaintext
+   *  @param source an array holding a line of plaintext letters
+   *  @param offset the index of the first letter
+   *  @param length the number of letters
+   *  @param target the array to receive the ciphertext, starting at index zero
+   *  @param key a compiled keyword
+   *  @return length the number of letters written
    */
-   public String encipher(String text, String key) {
-      table = new HashTable(length(key));
-      Queue queue = generateOrder(key);
-      int row;
-      char character;
-      for (int index = 0; index < text.length(); index++) {
-         character = text.charAt(index);
-         if (isAlphabet(character)) {
-            row = queue.poll();
-            table.insert(row, character);
-            queue.offer(row);
-         }
-      }
-      queue.sort();
-      while (!table.isEmpty()) {
-         row = queue.poll();
-         while (!table.isRowEmpty(row)) {
-            character = table.pop(row);
-            builder.append(character);
-         }
-      }
-      String ciphertext = builder.toString();
-      builder.setLength(0);
-      table.clear();
-      return ciphertext;
+   public int encipher(byte[] source, int offset, int length, byte[] target, CompiledKey key) {
+      cache.compile(key, length).encipher(source, offset, target, 0);
+      return length;
    }
    
    /**
    *  Decrypts the ciphertext into plaintext using Myszkowski transposition.
    *
    *  Note:
-   *  - Cannot restore to the original plaintext before it was encrypted.
-   *  - Implements a horribly inefficient algorithm.
+   *  - Expects uppercase letters only, such as the output of {@code Caesar}.
    *
-   *  @param text a line of ciphertext
-   *  @param key a valid keyword
-   *  @return a line of plaintext
+   *  @param source an array holding a line of ciphertext letters
+   *  @param offset the index of the first letter
+   *  @param length the number of letters
+   *  @param target the array to receive the plaintext, starting at index zero
+   *  @param key a compiled keyword
+   *  @return length the number of letters written
    */
-   public String decipher(String text, String key) {
-      int row = row(key, text), column = column(key, text), order = 0;;
-      table = new HashTable(length(key));
-      int[] cutoff = generateCutoff(key, row, column);
-      char character;
-      for (int index = 0; index < text.length(); index++) {
-         character = text.charAt(index);
-         if (isAlphabet(character)) {
-            if (cutoff[order] != 0) {
-               table.insert(order, character);
-               cutoff[order] -= 1;
-            }
-            else {
-               cutoff[++order] -= 1;
-               table.insert(order, character);
-            }
-         }
-      }
-      Queue queue = generateOrder(key);
-      while (!table.isEmpty()) {
-         int roll = queue.poll();
-         character = table.pop(roll);
-         builder.append(character);
-         queue.offer(roll);
-      }
-      String ciphertext = builder.toString();
-      builder.setLength(0);
-      table.clear();
-      return ciphertext;
+   public int decipher(byte[] source, int offset, int length, byte[] target, CompiledKey key) {
+      cache.compile(key, length).decipher(source, offset, target, 0);
+      return length;
    }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+/*
+*  File Name: PlanCache.java
+*  Dependencies: Transposition.java and CompiledKey.java
+*
+*  A bounded cache of compiled transpositions, keyed by the keyword and the number of letters in a line.
+*  Lines of the same length reuse one permutation, so key scheduling is skipped entirely on a hit.
+*
+*  Notes:
+*  - The capacity counts letters rather than transpositions, since each one holds two arrays as long as its line;
+*    the least recently used transpositions are evicted until the letters kept fit in it again.
+*  - A transposition longer than a quarter of the capacity is compiled but never kept,
+*    so one very long line cannot push every other out.
+*  - Every method is synchronized, so one cache can be shared across threads.
+*  - A lookup reuses one probe under the lock, so a hit allocates nothing.
+*  - Every compilation on a miss is recorded as a {@code PlanEvent} while a flight recording is running.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/** A least recently used cache of transpositions. */
+public class PlanCache {
+
+   /** The number of letters of transpositions kept by a default {@code PlanCache}, about two megabytes of them. */
+   public static final int DEFAULT_CAPACITY = 1 << 18;
+
+   static class Shape {
+      // Only the probe is ever changed, and it is never stored in the map.
+      String key;
+      int length;
+
+      Shape(String key, int length) {
+         this.key = key;
+         this.length = length;
+      }
+
+      @Override
+      public boolean equals(Object other) {
+         if (!(other instanceof Shape)) {
+            return false;
+         }
+         Shape shape = (Shape) other;
+         return length == shape.length && key.equals(shape.key);
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * key.hashCode() + length;
+      }
+   }
+
+   private final int capacity;
+   private final LinkedHashMap<Shape, Transposition> plans;
+   private final Shape probe = new Shape(null, 0);
+   private long letters, hits, misses, evictions;
+
+   /** Constructs a {@code PlanCache} with the default capacity. */
+   public PlanCache() {
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+   *  Constructs a {@code PlanCache} with a specified capacity.
+   *
+   *  @param capacity the maximum number of letters of all transpositions kept
+   */
+   public PlanCache(int capacity) {
+      if (capacity < 1) {
+         throw new IllegalArgumentException("The capacity must be at least one.");
+      }
+      this.capacity = capacity;
+      this.plans = new LinkedHashMap<>(16, 0.75f, true);
+   }
+
+   /**
+   *  Returns the transposition compiled for a keyword and a number of letters.
+   *
+   *  @param key a valid keyword
+   *  @param length the number of letters in a line
+   *  @return the cached transposition, or {@code null} if there is none
+   */
+   public synchronized Transposition get(String key, int length) {
+      probe.key = key;
+      probe.length = length;
+      Transposition plan = plans.get(probe);
+      probe.key = null;
+      if (plan == null) {
+         misses++;
+      }
+      else {
+         hits++;
+      }
+      return plan;
+   }
+
+   /**
+   *  Stores the transposition compiled for a keyword and a number of letters,
+   *  unless it is longer than a quarter of the capacity.
+   *
+   *  @param key a valid keyword
+   *  @param plan the compiled transposition
+   */
+   public synchronized void put(String key, Transposition plan) {
+      if (plan.length() > capacity / 4) {
+         return;
+      }
+      Transposition old = plans.put(new Shape(key, plan.length()), plan);
+      letters += plan.length() - (old == null ? 0 : old.length());
+      Iterator<Transposition> eldest = plans.values().iterator();
+      while (letters > capacity) {
+         letters -= eldest.next().length();
+         eldest.remove();
+         evictions++;
+      }
+   }
+
+   /**
+   *  Returns the transposition of a compiled keyword for a number of letters,
+   *  compiling and storing it if there is none.
+   *
+   *  @param key a compiled keyword
+   *  @param length the number of letters in a line
+   *  @return plan the transposition
+   */
+   public Transposition compile(CompiledKey key, int length) {
+      Transposition plan = get(key.keyword(), length);
+      return plan != null ? plan : build(key, length);
+   }
+
+   /**
+   *  Returns the transposition of a keyword for a number of letters, compiling and storing it if there is none.
+   *  The keyword itself is only compiled on a miss, so a hit allocates nothing.
+   *
+   *  @param key a valid keyword
+   *  @param length the number of letters in a line
+   *  @return plan the transposition
+   */
+   Transposition compile(String key, int length) {
+      Transposition plan = get(key, length);
+      return plan != null ? plan : build(new CompiledKey(key), length);
+   }
+
+   private Transposition build(CompiledKey key, int length) {
+      PlanEvent event = new PlanEvent();
+      event.begin();
+      Transposition plan = new Transposition(key.rank(), key.ranks(), length);
+      if (event.shouldCommit()) {
+         event.keyLength = key.length();
+         event.lineLength = length;
+         event.commit();
+      }
+      put(key.keyword(), plan);
+      return plan;
+   }
+
+   /** Removes every transposition and resets the counters. */
+   public synchronized void clear() {
+      plans.clear();
+      letters = 0;
+      hits = 0;
+      misses = 0;
+      evictions = 0;
+   }
+
+   /**
+   *  Returns the maximum number of letters of all transpositions kept.
+   *
+   *  @return capacity the capacity
+   */
+   public int capacity() {
+      return capacity;
+   }
+
+   /**
+   *  Returns the current number of letters of all transpositions kept.
+   *
+   *  @return letters the letters kept
+   */
+   public synchronized long letters() {
+      return letters;
+   }
+
+   /**
+   *  Returns the current number of transpositions kept.
+   *
+   *  @return the current size
+   */
+   public synchronized int size() {
+      return plans.size();
+   }
+
+   /**
+   *  Returns the number of lookups that found a transposition.
+   *
+   *  @return hits the number of hits
+   */
+   public synchronized long hits() {
+      return hits;
+   }
+
+   /**
+   *  Returns the number of lookups that found nothing.
+   *
+   *  @return misses the number of misses
+   */
+   public synchronized long misses() {
+      return misses;
+   }
+
+   /**
+   *  Returns the number of transpositions evicted to respect the capacity.
+   *
+   *  @return evictions the number of evictions
+   */
+   public synchronized long evictions() {
+      return evictions;
+   }
+}
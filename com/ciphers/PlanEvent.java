@@ -0,0 +1,31 @@
+/*
+*  File Name: PlanEvent.java
+*
+*  A flight recorder event spanning the compilation of one Myszkowski transposition, i.e. its key scheduling.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A transposition compiled because no cache held it. */
+@Name("com.ciphers.Plan")
+@Label("Transposition Compilation")
+@Category("Caesar-Myszkowski")
+@Description("A Myszkowski transposition compiled for a keyword and a number of letters")
+class PlanEvent extends Event {
+
+   @Label("Key Length")
+   int keyLength;
+
+   @Label("Line Length")
+   @Description("The number of letters the transposition was compiled for")
+   int lineLength;
+}
@@ -0,0 +1,481 @@
+/*
+*  File Name: QuadgramAttack.java
+*  Dependencies: Quadgrams.java, KeySearch.java, Caesar.java, Myszkowski.java and CompiledKey.java
+*
+*  A ciphertext-only attack on the Caesar-Myszkowski cipher, scoring candidate decryptions with quadgram statistics.
+*  The Caesar stage commutes with the transposition, so its shift is solved first from the letter frequencies alone;
+*  the rank pattern is then found by hill climbing, with many independent restarts for every keyword length.
+*
+*  Notes:
+*  - A shift is kept if its chi-squared distance to the corpus is among the best two and some keyword length reaches it.
+*  - A step changes one letter of a candidate keyword or swaps two of its letters. Only the columns whose
+*    offset or stride moved are rewritten, and only the quadgrams touching them are re-scored.
+*  - The winning class is spelled as a keyword and run through Myszkowski and Caesar as the reference decryption.
+*  - Every line of the ciphertext is assumed to be enciphered with the same keyword.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/** A parallel hill-climbing attack on ciphertext alone. */
+public class QuadgramAttack implements Closeable {
+
+   /** The number of restarts for every shift and keyword length by default. */
+   public static final int DEFAULT_RESTARTS = 32;
+
+   /** The number of failed steps in a row that ends a restart by default. */
+   public static final int DEFAULT_PATIENCE = 1500;
+
+   private static final int SHIFTS = 2;
+
+   private final Quadgrams model;
+   private final ForkJoinPool pool;
+   private final int restarts;
+   private final int patience;
+   private final long seed;
+   private final LongAdder climbed = new LongAdder();
+   private final LongAdder scored = new LongAdder();
+
+   /** The best decryption found: its class of keywords, one keyword of it, and the plaintext it yields. */
+   public static final class Result {
+      private final KeySearch.Match match;
+      private final String keyword;
+      private final double score;
+      private final List<String> plaintext;
+
+      Result(KeySearch.Match match, String keyword, double score, List<String> plaintext) {
+         this.match = match;
+         this.keyword = keyword;
+         this.score = score;
+         this.plaintext = plaintext;
+      }
+
+      /**
+      *  Returns the class of keywords that produce the decryption.
+      *
+      *  @return match the shift and rank pattern
+      */
+      public KeySearch.Match match() {
+         return match;
+      }
+
+      /**
+      *  Returns the first valid keyword of the class.
+      *
+      *  @return keyword a keyword that deciphers the ciphertext
+      */
+      public String keyword() {
+         return keyword;
+      }
+
+      /**
+      *  Returns the quadgram score of the decryption, summed over every line.
+      *
+      *  @return score the log probability
+      */
+      public double score() {
+         return score;
+      }
+
+      /**
+      *  Returns the decryption, one string of letters per line of ciphertext.
+      *
+      *  @return plaintext the lines deciphered with {@link #keyword()}
+      */
+      public List<String> plaintext() {
+         return plaintext;
+      }
+
+      @Override
+      public String toString() {
+         return keyword + " (" + match + "), score " + String.format("%.1f", score);
+      }
+   }
+
+   /**
+   *  Constructs a {@code QuadgramAttack} on every available processor with the default effort.
+   *
+   *  @param model the statistics of the expected language
+   */
+   public QuadgramAttack(Quadgrams model) {
+      this(model, Runtime.getRuntime().availableProcessors(), DEFAULT_RESTARTS, DEFAULT_PATIENCE, System.nanoTime());
+   }
+
+   /**
+   *  Constructs a {@code QuadgramAttack} on a fork-join pool of its own.
+   *
+   *  @param model the statistics of the expected language
+   *  @param parallelism the number of threads
+   *  @param restarts the number of restarts for every shift and keyword length
+   *  @param patience the number of failed steps in a row that ends a restart
+   *  @param seed the seed of the random restarts
+   */
+   public QuadgramAttack(Quadgrams model, int parallelism, int restarts, int patience, long seed) {
+      if (restarts < 1 || patience < 1) {
+         throw new IllegalArgumentException("The restarts and patience must be at least one.");
+      }
+      this.model = model;
+      this.pool = new ForkJoinPool(parallelism);
+      this.restarts = restarts;
+      this.patience = patience;
+      this.seed = seed;
+   }
+
+   /**
+   *  Deciphers lines of ciphertext without their keyword.
+   *
+   *  @param ciphertext the lines of ciphertext, all enciphered with the same keyword
+   *  @return result the best decryption found, or {@code null} if no valid keyword scores at all
+   *  @throws IllegalArgumentException if the ciphertext has fewer than four letters
+   */
+   public Result attack(List<String> ciphertext) {
+      List<byte[]> lines = new ArrayList<>();
+      int[] observed = new int[26];
+      int letters = 0;
+      for (String line : ciphertext) {
+         byte[] cipher = Quadgrams.letters(line);
+         if (cipher.length > 0) {
+            lines.add(cipher);
+            for (byte letter : cipher) {
+               observed[letter]++;
+            }
+            letters += cipher.length;
+         }
+      }
+      if (letters < 4) {
+         throw new IllegalArgumentException("The ciphertext must have at least four letters.");
+      }
+      List<Climb> climbs = new ArrayList<>();
+      SplittableRandom random = new SplittableRandom(seed);
+      for (int shift : shifts(observed, letters)) {
+         byte[][] unshifted = new byte[lines.size()][];
+         for (int l = 0; l < unshifted.length; l++) {
+            byte[] cipher = lines.get(l);
+            unshifted[l] = new byte[cipher.length];
+            for (int i = 0; i < cipher.length; i++) {
+               unshifted[l][i] = (byte) ((cipher[i] - shift + 26) % 26);
+            }
+         }
+         for (int length = 5; length <= 10; length++) {
+            if (KeySearch.isReachable(shift, length)) {
+               for (int r = 0; r < restarts; r++) {
+                  climbs.add(new Climb(unshifted, shift, length, random.split()));
+               }
+            }
+         }
+      }
+      pool.invoke(new RecursiveAction() {
+         @Override
+         protected void compute() {
+            invokeAll(climbs);
+         }
+      });
+      Climb best = null;
+      KeySearch.Match match = null;
+      for (Climb climb : climbs) {
+         if (best == null || climb.best > best.best) {
+            KeySearch.Match candidate = climb.match();
+            if (candidate != null) {
+               best = climb;
+               match = candidate;
+            }
+         }
+      }
+      if (best == null) {
+         return null;
+      }
+      String keyword = KeySearch.keyword(match);
+      CompiledKey key = new CompiledKey(keyword);
+      Myszkowski myszkowski = new Myszkowski();
+      Caesar caesar = new Caesar();
+      List<String> plaintext = new ArrayList<>();
+      for (String line : ciphertext) {
+         plaintext.add(caesar.decipher(myszkowski.decipher(line, key), key));
+      }
+      return new Result(match, keyword, best.best, plaintext);
+   }
+
+   /**
+   *  Ranks every reachable shift by the chi-squared distance of the unshifted letters to the corpus.
+   *
+   *  @param observed the number of each letter in the ciphertext
+   *  @param letters the number of letters in the ciphertext
+   *  @return shifts the closest shifts, best first
+   */
+   private int[] shifts(int[] observed, int letters) {
+      double[] frequency = model.frequency();
+      double[] distance = new double[26];
+      Integer[] order = new Integer[26];
+      for (int shift = 0; shift < 26; shift++) {
+         order[shift] = shift;
+         distance[shift] = Double.POSITIVE_INFINITY;
+         for (int length = 5; length <= 10; length++) {
+            if (KeySearch.isReachable(shift, length)) {
+               distance[shift] = 0;
+               break;
+            }
+         }
+         if (distance[shift] == 0) {
+            for (int letter = 0; letter < 26; letter++) {
+               double expected = Math.max(frequency[letter], 1e-4) * letters;
+               double difference = observed[(letter + shift) % 26] - expected;
+               distance[shift] += difference * difference / expected;
+            }
+         }
+      }
+      Arrays.sort(order, (a, b) -> Double.compare(distance[a], distance[b]));
+      int[] shifts = new int[SHIFTS];
+      for (int i = 0; i < SHIFTS; i++) {
+         shifts[i] = order[i];
+      }
+      return shifts;
+   }
+
+   /**
+   *  Returns the number of restarts run so far.
+   *
+   *  @return the number of completed hill climbs
+   */
+   public long restarts() {
+      return climbed.sum();
+   }
+
+   /**
+   *  Returns the number of candidate keywords scored so far.
+   *
+   *  @return the number of steps tried, over every restart
+   */
+   public long scored() {
+      return scored.sum();
+   }
+
+   @Override
+   public void close() {
+      pool.shutdown();
+   }
+
+   /** One restart: a random keyword of a certain length improved one step at a time. */
+   @SuppressWarnings("serial")
+   private class Climb extends RecursiveAction {
+      final byte[][] unshifted;
+      final int shift, length;
+      final SplittableRandom random;
+      final float[] table = model.table();
+      final byte[][] plain;
+      final int[][] offset, stride, nextOffset, nextStride;
+      final int[] key, next, rank, counts = new int[26], size = new int[10], start = new int[10];
+      final boolean[] isMoved, isAffected;
+      int[] bestKey;
+      double best = Double.NEGATIVE_INFINITY;
+
+      Climb(byte[][] unshifted, int shift, int length, SplittableRandom random) {
+         this.unshifted = unshifted;
+         this.shift = shift;
+         this.length = length;
+         this.random = random;
+         this.plain = new byte[unshifted.length][];
+         this.offset = new int[unshifted.length][length];
+         this.stride = new int[unshifted.length][length];
+         this.nextOffset = new int[unshifted.length][length];
+         this.nextStride = new int[unshifted.length][length];
+         this.key = new int[length];
+         this.next = new int[length];
+         this.rank = new int[length];
+         this.isMoved = new boolean[length];
+         this.isAffected = new boolean[length];
+      }
+
+      @Override
+      protected void compute() {
+         do {
+            for (int i = 0; i < length; i++) {
+               key[i] = random.nextInt(length);
+            }
+         } while (!isValid(key));
+         double score = 0;
+         for (int l = 0; l < plain.length; l++) {
+            plain[l] = new byte[unshifted[l].length];
+            layout(key, unshifted[l].length, offset[l], stride[l]);
+            for (int i = 0; i < length; i++) {
+               gather(l, i, offset[l][i], stride[l][i]);
+            }
+            score += score(plain[l], 0, 1);
+         }
+         long steps = 0;
+         for (int failures = 0; failures < patience; ) {
+            step();
+            steps++;
+            if (!isValid(next)) {
+               failures++;
+               continue;
+            }
+            double delta = 0;
+            for (int l = 0; l < plain.length; l++) {
+               delta += rescore(l);
+            }
+            if (delta > 0) {
+               score += delta;
+               System.arraycopy(next, 0, key, 0, length);
+               for (int l = 0; l < plain.length; l++) {
+                  System.arraycopy(nextOffset[l], 0, offset[l], 0, length);
+                  System.arraycopy(nextStride[l], 0, stride[l], 0, length);
+               }
+               failures = 0;
+            }
+            else {
+               for (int l = 0; l < plain.length; l++) {
+                  for (int i = 0; i < length; i++) {
+                     if (nextOffset[l][i] != offset[l][i] || nextStride[l][i] != stride[l][i]) {
+                        gather(l, i, offset[l][i], stride[l][i]);
+                     }
+                  }
+               }
+               failures++;
+            }
+         }
+         best = score;
+         bestKey = key.clone();
+         scored.add(steps);
+         climbed.increment();
+      }
+
+      /** Moves a copy of the keyword to a random neighbour: one letter changed, or two letters swapped. */
+      private void step() {
+         System.arraycopy(key, 0, next, 0, length);
+         int a = random.nextInt(length);
+         if (random.nextBoolean()) {
+            next[a] = random.nextInt(length);
+         }
+         else {
+            int b = random.nextInt(length);
+            next[a] = key[b];
+            next[b] = key[a];
+         }
+      }
+
+      /**
+      *  Tests whether a keyword has no letter more than three times and some letter at least twice.
+      *
+      *  @param keyword the letters of a keyword, from zero to its length
+      *  @return {@code true} if the keyword is valid, otherwise {@code false}
+      */
+      private boolean isValid(int[] keyword) {
+         Arrays.fill(counts, 0, length, 0);
+         int largest = 0;
+         for (int letter : keyword) {
+            largest = Math.max(largest, ++counts[letter]);
+         }
+         return largest >= 2 && largest <= 3;
+      }
+
+      /**
+      *  Ranks a keyword and works out where each keyword position's column starts in a line
+      *  and how far apart its letters are, through {@link Transposition}.
+      *
+      *  @return ranks the number of unique letters in the keyword
+      */
+      private int layout(int[] keyword, int letters, int[] offset, int[] stride) {
+         Arrays.fill(counts, 0, length, 0);
+         for (int letter : keyword) {
+            counts[letter]++;
+         }
+         int ranks = 0;
+         for (int letter = 0; letter < length; letter++) {
+            if (counts[letter] > 0) {
+               counts[letter] = ranks++;
+            }
+         }
+         for (int i = 0; i < length; i++) {
+            rank[i] = counts[keyword[i]];
+         }
+         Transposition.layout(rank, ranks, letters, offset, stride, size, start);
+         return ranks;
+      }
+
+      /** Copies one column of a line from the unshifted ciphertext into the candidate plaintext. */
+      private void gather(int line, int column, int offset, int stride) {
+         byte[] source = unshifted[line];
+         byte[] target = plain[line];
+         for (int index = column, from = offset; index < target.length; index += length, from += stride) {
+            target[index] = source[from];
+         }
+      }
+
+      /**
+      *  Rewrites the columns of a line that the next keyword moves and returns the change in its score.
+      *
+      *  @param line the index of the line
+      *  @return delta the new score of the affected quadgrams minus their old score
+      */
+      private double rescore(int line) {
+         int[] offsets = nextOffset[line], strides = nextStride[line];
+         layout(next, plain[line].length, offsets, strides);
+         boolean isAny = false;
+         Arrays.fill(isAffected, false);
+         for (int i = 0; i < length; i++) {
+            isMoved[i] = offsets[i] != offset[line][i] || strides[i] != stride[line][i];
+            if (isMoved[i]) {
+               isAny = true;
+               for (int d = 0; d < 4; d++) {
+                  isAffected[(i - d + length) % length] = true;
+               }
+            }
+         }
+         if (!isAny) {
+            return 0;
+         }
+         double delta = 0;
+         for (int i = 0; i < length; i++) {
+            if (isAffected[i]) {
+               delta -= score(plain[line], i, length);
+            }
+         }
+         for (int i = 0; i < length; i++) {
+            if (isMoved[i]) {
+               gather(line, i, offsets[i], strides[i]);
+            }
+         }
+         for (int i = 0; i < length; i++) {
+            if (isAffected[i]) {
+               delta += score(plain[line], i, length);
+            }
+         }
+         return delta;
+      }
+
+      /** Sums the quadgrams starting at every {@code step}-th position of a line from a certain one. */
+      private double score(byte[] letters, int from, int step) {
+         double score = 0;
+         for (int i = from; i + 4 <= letters.length; i += step) {
+            score += table[Quadgrams.index(letters, i)];
+         }
+         return score;
+      }
+
+      /**
+      *  Turns the best keyword of this restart into its class, if it has any valid keyword for the shift.
+      *
+      *  @return match the class, or {@code null} if no keyword of the pattern has this shift
+      */
+      KeySearch.Match match() {
+         int ranks = layout(bestKey, length, new int[length], new int[length]);
+         int[] sizes = new int[ranks];
+         for (int i = 0; i < length; i++) {
+            sizes[rank[i]]++;
+         }
+         long keywords = KeySearch.count(shift, sizes, length);
+         return keywords > 0 ? new KeySearch.Match(shift, rank.clone(), sizes, keywords) : null;
+      }
+   }
+}
@@ -0,0 +1,147 @@
+/*
+*  File Name: Quadgrams.java
+*
+*  A statistical model of a language, trained on a corpus: the log probability of every run of four letters,
+*  kept in one flat array indexed in base twenty-six, and the frequency of every single letter.
+*  Scores how much a line of letters looks like the corpus, to tell right decryptions from wrong ones.
+*
+*  Notes:
+*  - Non-alphabetical characters are dropped before counting, just as the cipher drops them.
+*  - A quadgram missing from the corpus scores a floor a hundred times less likely than one seen once.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/** Quadgram and letter statistics of a corpus. */
+public class Quadgrams {
+
+   private final float[] table = new float[26 * 26 * 26 * 26];
+   private final double[] frequency = new double[26];
+   private final long total;
+
+   /**
+   *  Constructs {@code Quadgrams} trained on the text of certain files.
+   *
+   *  @param corpus the files to train on, in an ASCII-compatible encoding
+   *  @throws IOException if a file cannot be read
+   */
+   public Quadgrams(List<Path> corpus) throws IOException {
+      this(read(corpus));
+   }
+
+   /**
+   *  Constructs {@code Quadgrams} trained on a text.
+   *
+   *  @param corpus the text to train on
+   *  @throws IllegalArgumentException if the text has fewer than four letters
+   */
+   public Quadgrams(CharSequence corpus) {
+      byte[] letters = letters(corpus);
+      if (letters.length < 4) {
+         throw new IllegalArgumentException("The corpus must have at least four letters.");
+      }
+      long[] counts = new long[table.length];
+      for (int i = 0; i + 4 <= letters.length; i++) {
+         counts[index(letters, i)]++;
+      }
+      for (byte letter : letters) {
+         frequency[letter]++;
+      }
+      for (int i = 0; i < 26; i++) {
+         frequency[i] /= letters.length;
+      }
+      this.total = letters.length - 3;
+      float floor = (float) Math.log10(0.01 / total);
+      for (int i = 0; i < table.length; i++) {
+         table[i] = counts[i] == 0 ? floor : (float) Math.log10((double) counts[i] / total);
+      }
+   }
+
+   private static String read(List<Path> corpus) throws IOException {
+      StringBuilder text = new StringBuilder();
+      for (Path path : corpus) {
+         text.append(new String(Files.readAllBytes(path), StandardCharsets.ISO_8859_1)).append('\n');
+      }
+      return text.toString();
+   }
+
+   /**
+   *  Extracts the letters of a text as numbers from zero to twenty-five.
+   *
+   *  @param text a certain text
+   *  @return letters the letters, trimmed to size
+   */
+   static byte[] letters(CharSequence text) {
+      byte[] letters = new byte[text.length()];
+      int count = 0;
+      for (int i = 0; i < text.length(); i++) {
+         char character = text.charAt(i);
+         if (character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z') {
+            letters[count++] = (byte) ((character & 0xDF) - 'A');
+         }
+      }
+      return Arrays.copyOf(letters, count);
+   }
+
+   /**
+   *  Returns the index of the quadgram starting at a certain position.
+   *
+   *  @param letters letters from zero to twenty-five
+   *  @param from the position of the quadgram's first letter
+   *  @return the index of the quadgram in the table
+   */
+   static int index(byte[] letters, int from) {
+      return ((letters[from] * 26 + letters[from + 1]) * 26 + letters[from + 2]) * 26 + letters[from + 3];
+   }
+
+   /**
+   *  Scores a line of letters by the log probability of its quadgrams; the higher, the more alike the corpus.
+   *
+   *  @param letters letters from zero to twenty-five
+   *  @return score the sum of the log probabilities of every quadgram
+   */
+   public double score(byte[] letters) {
+      double score = 0;
+      for (int i = 0; i + 4 <= letters.length; i++) {
+         score += table[index(letters, i)];
+      }
+      return score;
+   }
+
+   /**
+   *  Returns the log probability of every quadgram, indexed in base twenty-six.
+   *
+   *  @return table the table, which must not be modified
+   */
+   float[] table() {
+      return table;
+   }
+
+   /**
+   *  Returns the frequency of every letter, from A to Z.
+   *
+   *  @return a copy of the letter frequencies, summing to one
+   */
+   public double[] frequency() {
+      return frequency.clone();
+   }
+
+   /**
+   *  Returns the number of quadgrams trained on.
+   *
+   *  @return total the number of quadgrams
+   */
+   public long total() {
+      return total;
+   }
+}
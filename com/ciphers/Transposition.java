@@ -0,0 +1,169 @@
+/*
+*  File Name: Transposition.java
+*
+*  A precomputed Myszkowski transposition for a certain keyword and number of letters.
+*  The permutation is worked out once as a primitive array and then applied in a single linear pass.
+*  The inverse is derived directly from the keyword's letter frequency, so deciphering is a gather as well.
+*
+*  Notes:
+*  - Letters sharing the same keyword letter are read row by row, left to right, as one column.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+/** A compiled Myszkowski permutation, immutable once constructed. */
+public class Transposition {
+
+   private final int length;
+   private final int[] order;
+   private final int[] inverse;
+
+   /**
+   *  Constructs a {@code Transposition} for a line with a certain number of letters.
+   *  A letter at row {@code t} of keyword position {@code i} lands at the start of its column,
+   *  plus the tied positions before {@code i}, plus {@code t} times the letter's frequency.
+   *
+   *  @param rank the lexicographical order of each letter in the keyword
+   *  @param ranks the number of unique letters in the keyword
+   *  @param length the number of letters in a line
+   */
+   public Transposition(int[] rank, int ranks, int length) {
+      int keyL = rank.length;
+      int[] offset = new int[keyL];
+      int[] stride = new int[keyL];
+      layout(rank, ranks, length, offset, stride, new int[ranks], new int[ranks]);
+      this.length = length;
+      this.order = new int[length];
+      this.inverse = new int[length];
+      for (int row = 0; row < length; row += keyL) {
+         int columns = Math.min(keyL, length - row);
+         for (int i = 0; i < columns; i++) {
+            inverse[row + i] = offset[i];
+            offset[i] += stride[i];
+         }
+      }
+      for (int i = 0; i < length; i++) {
+         order[inverse[i]] = i;
+      }
+   }
+
+   /**
+   *  Works out where the column of each keyword position starts in a line, and how far apart its letters are:
+   *  the letter at row {@code t} of keyword position {@code i} lands at {@code offset[i] + t * stride[i]}.
+   *  This is the whole of the Myszkowski column layout; everything that transposes a line derives it from here.
+   *
+   *  @param rank the lexicographical order of each letter in the keyword
+   *  @param ranks the number of unique letters in the keyword
+   *  @param length the number of letters in a line
+   *  @param offset the array to receive the position of the first letter of each keyword position
+   *  @param stride the array to receive the distance between the letters of each keyword position
+   *  @param size a scratch array with room for {@code ranks} counts
+   *  @param start a scratch array with room for {@code ranks} counts
+   */
+   static void layout(int[] rank, int ranks, int length, int[] offset, int[] stride, int[] size, int[] start) {
+      int keyL = rank.length;
+      int full = length / keyL;
+      int rest = length % keyL;
+      for (int r = 0; r < ranks; r++) {
+         size[r] = 0;
+         start[r] = 0;
+      }
+      for (int i = 0; i < keyL; i++) {
+         offset[i] = size[rank[i]]++;
+         if (i < rest) {
+            start[rank[i]]++;
+         }
+      }
+      for (int r = 0, total = 0; r < ranks; r++) {
+         int count = full * size[r] + start[r];
+         start[r] = total;
+         total += count;
+      }
+      for (int i = 0; i < keyL; i++) {
+         offset[i] += start[rank[i]];
+         stride[i] = size[rank[i]];
+      }
+   }
+
+   /**
+   *  Returns the number of letters this transposition was compiled for.
+   *
+   *  @return length the number of letters
+   */
+   public int length() {
+      return length;
+   }
+
+   /**
+   *  Returns the position of each letter of the plaintext within the ciphertext.
+   *
+   *  @return inverse the ciphertext position of every plaintext letter
+   */
+   int[] inverse() {
+      return inverse;
+   }
+
+   /**
+   *  Returns the position of each letter of the ciphertext within the plaintext.
+   *
+   *  @return order the plaintext position of every ciphertext letter
+   */
+   int[] order() {
+      return order;
+   }
+
+   /**
+   *  Encrypts the letters by reading them off column by column.
+   *
+   *  @param source the letters of a line of plaintext
+   *  @param target the array to receive the ciphertext
+   */
+   public void encipher(char[] source, char[] target) {
+      for (int i = 0; i < length; i++) {
+         target[i] = source[order[i]];
+      }
+   }
+
+   /**
+   *  Decrypts the letters by reading each one back from its position in the ciphertext.
+   *
+   *  @param source the letters of a line of ciphertext
+   *  @param target the array to receive the plaintext
+   */
+   public void decipher(char[] source, char[] target) {
+      for (int i = 0; i < length; i++) {
+         target[i] = source[inverse[i]];
+      }
+   }
+
+   /**
+   *  Encrypts the letters by reading them off column by column.
+   *
+   *  @param source an array holding the letters of a line of plaintext
+   *  @param from the index of the first letter in the source
+   *  @param target the array to receive the ciphertext
+   *  @param to the index in the target to receive the first letter
+   */
+   public void encipher(byte[] source, int from, byte[] target, int to) {
+      for (int i = 0; i < length; i++) {
+         target[to + i] = source[from + order[i]];
+      }
+   }
+
+   /**
+   *  Decrypts the letters by reading each one back from its position in the ciphertext.
+   *
+   *  @param source an array holding the letters of a line of ciphertext
+   *  @param from the index of the first letter in the source
+   *  @param target the array to receive the plaintext
+   *  @param to the index in the target to receive the first letter
+   */
+   public void decipher(byte[] source, int from, byte[] target, int to) {
+      for (int i = 0; i < length; i++) {
+         target[to + i] = source[from + inverse[i]];
+      }
+   }
+}
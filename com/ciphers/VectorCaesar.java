@@ -0,0 +1,133 @@
+/*
+*  File Name: VectorCaesar.java
+*  Dependencies: jdk.incubator.vector
+*
+*  The byte path of the Caesar substitution on SIMD registers, through the incubating Vector API.
+*  Uppercasing, letter masking, the shift and its wrap-around run on a whole register of bytes at once,
+*  and the letters are then packed together eight lanes at a time through a table of shuffles.
+*  The same mask counts the letters of a line for the fused kernel, which must know how many there are
+*  before it can place any of them.
+*
+*  Notes:
+*  - Only loads when the jdk.incubator.vector module is resolved, e.g. with --add-modules jdk.incubator.vector.
+*    {@code Caesar} falls back to its scalar loop otherwise.
+*  - Only works if all text is compatible with ASCII.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/** A vectorized Caesar substitution over bytes. */
+final class VectorCaesar {
+
+   private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+   private static final VectorSpecies<Byte> EIGHT = ByteVector.SPECIES_64;
+   private static final int LANES = SPECIES.length();
+   private static final long ALL = -1L >>> (64 - LANES);
+
+   // For every mask of eight lanes, the shuffle that moves the selected lanes to the front in order.
+   private static final VectorShuffle<Byte>[] PACK = packs();
+
+   private VectorCaesar() {
+   }
+
+   @SuppressWarnings("unchecked")
+   private static VectorShuffle<Byte>[] packs() {
+      VectorShuffle<Byte>[] packs = (VectorShuffle<Byte>[]) new VectorShuffle<?>[256];
+      for (int mask = 0; mask < 256; mask++) {
+         int[] lanes = new int[8];
+         int count = 0;
+         for (int lane = 0; lane < 8; lane++) {
+            if ((mask >>> lane & 1) != 0) {
+               lanes[count++] = lane;
+            }
+         }
+         packs[mask] = VectorShuffle.fromArray(EIGHT, lanes, 0);
+      }
+      return packs;
+   }
+
+   /**
+   *  Returns the number of bytes handled at once.
+   *
+   *  @return lanes the number of lanes in a register of bytes
+   */
+   static int lanes() {
+      return LANES;
+   }
+
+   /**
+   *  Counts the letters of a line, a whole register of bytes at a time.
+   *
+   *  @param source an array holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param table a translate table of {@code Caesar}, for the bytes past the last full register
+   *  @return count the number of letters
+   */
+   static int count(byte[] source, int offset, int length, byte[] table) {
+      int count = 0;
+      int index = 0;
+      int bound = SPECIES.loopBound(length);
+      for (; index < bound; index += LANES) {
+         ByteVector vector = ByteVector.fromArray(SPECIES, source, offset + index);
+         count += vector.and((byte) 0xDF).sub((byte) 'A').compare(VectorOperators.UNSIGNED_LT, (byte) 26).trueCount();
+      }
+      for (; index < length; index++) {
+         count += (table[source[offset + index] & 0xFF] + 127) >>> 7;
+      }
+      return count;
+   }
+
+   /**
+   *  Shifts every letter of a line a certain number of positions down the alphabet, dropping everything else.
+   *
+   *  @param source an array holding a line of ASCII text
+   *  @param offset the index of the first character
+   *  @param length the number of characters
+   *  @param target the array to receive the letters, starting at index zero, with room for {@code length} bytes
+   *  @param shift the number of positions, from zero to twenty-five
+   *  @param table the translate table of the same shift, for the bytes past the last full register
+   *  @return count the number of letters written
+   */
+   static int substitute(byte[] source, int offset, int length, byte[] target, int shift, byte[] table) {
+      int count = 0;
+      int index = 0;
+      int bound = SPECIES.loopBound(length);
+      for (; index < bound; index += LANES) {
+         ByteVector vector = ByteVector.fromArray(SPECIES, source, offset + index);
+         // Clearing bit 5 uppercases a letter; anything that is not a letter stays out of 'A' to 'Z'.
+         ByteVector letter = vector.and((byte) 0xDF).sub((byte) 'A');
+         VectorMask<Byte> isLetter = letter.compare(VectorOperators.UNSIGNED_LT, (byte) 26);
+         ByteVector shifted = letter.add((byte) shift);
+         shifted = shifted.sub((byte) 26, shifted.compare(VectorOperators.GE, (byte) 26)).add((byte) 'A');
+         long bits = isLetter.toLong();
+         if (bits == ALL) {
+            shifted.intoArray(target, count);
+            count += LANES;
+            continue;
+         }
+         for (int part = 0; part < LANES / 8; part++) {
+            int mask = (int) (bits >>> (8 * part)) & 0xFF;
+            if (mask != 0) {
+               ((ByteVector) shifted.reinterpretShape(EIGHT, part)).rearrange(PACK[mask]).intoArray(target, count);
+               count += Integer.bitCount(mask);
+            }
+         }
+      }
+      for (; index < length; index++) {
+         byte character = table[source[offset + index] & 0xFF];
+         target[count] = character;
+         count += (character + 127) >>> 7;
+      }
+      return count;
+   }
+}
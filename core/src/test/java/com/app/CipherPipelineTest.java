@@ -0,0 +1,132 @@
+/*
+*  File Name: CipherPipelineTest.java
+*  Dependencies: CipherPipeline.java, Caesar.java, Myszkowski.java and CompiledKey.java
+*
+*  Tests of the three-stage pipeline: its output against ciphering one line at a time,
+*  and stopping a job whose reader is blocked on a stream that ignores interrupts.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.ciphers.Caesar;
+import com.ciphers.CompiledKey;
+import com.ciphers.Myszkowski;
+
+class CipherPipelineTest {
+
+   private static final CompiledKey KEY = new CompiledKey("TOMATO");
+
+   /** A stream that blocks on its first read, ignoring interrupts, until it is released. */
+   private static final class StuckStream extends InputStream {
+      final CountDownLatch reading = new CountDownLatch(1);
+      final CountDownLatch released = new CountDownLatch(1);
+      final boolean isReleasedByClose;
+      volatile boolean isClosed;
+
+      StuckStream(boolean isReleasedByClose) {
+         this.isReleasedByClose = isReleasedByClose;
+      }
+
+      @Override
+      public int read() throws IOException {
+         reading.countDown();
+         while (true) {
+            try {
+               released.await();
+               break;
+            } catch (InterruptedException e) {
+               // Like a read from a pipe or the console, the interrupt changes nothing.
+            }
+         }
+         if (isClosed) {
+            throw new IOException("Stream closed");
+         }
+         return -1;
+      }
+
+      @Override
+      public void close() {
+         isClosed = true;
+         if (isReleasedByClose) {
+            released.countDown();
+         }
+      }
+   }
+
+   @Test
+   void streamMatchesCipheringOneLineAtATime() throws IOException {
+      String text = "Attack at dawn!\r\nThe quick brown fox\n\njumps over the lazy dog.\n" + "x".repeat(5000) + "\n";
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      new CipherPipeline(3, 2, 3).encipher(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)),
+         output, KEY);
+      StringBuilder expected = new StringBuilder();
+      for (String line : text.split("\r?\n")) {
+         expected.append(new Myszkowski().encipher(new Caesar().encipher(line, KEY), KEY)).append('\n');
+      }
+      assertEquals(expected.toString(), output.toString(StandardCharsets.US_ASCII.name()));
+   }
+
+   /** Starts a job on a stuck stream, interrupts it once the reader blocks, and returns what it threw. */
+   private static Throwable stop(StuckStream input) throws Exception {
+      ExecutorService caller = Executors.newSingleThreadExecutor();
+      try {
+         Future<?> job = caller.submit(() -> {
+            new CipherPipeline(2, 4, 2).encipher(input, new ByteArrayOutputStream(), KEY);
+            return null;
+         });
+         assertTrue(input.reading.await(10, TimeUnit.SECONDS));
+         caller.shutdownNow();
+         try {
+            job.get(10, TimeUnit.SECONDS);
+         } catch (ExecutionException e) {
+            return e.getCause();
+         }
+         return null;
+      } finally {
+         caller.shutdownNow();
+      }
+   }
+
+   @Test
+   void stoppingClosesAStreamThatIgnoresInterrupts() throws Exception {
+      StuckStream input = new StuckStream(true);
+      Throwable thrown = stop(input);
+      assertInstanceOf(InterruptedIOException.class, thrown);
+      assertTrue(input.isClosed);
+   }
+
+   @Test
+   void stoppingReportsAReaderThatNeverReturns() throws Exception {
+      StuckStream input = new StuckStream(false);
+      try {
+         Throwable thrown = stop(input);
+         assertInstanceOf(InterruptedIOException.class, thrown);
+         assertEquals(1, thrown.getSuppressed().length);
+         assertTrue(thrown.getSuppressed()[0].getMessage().startsWith("The reader did not stop"));
+      } finally {
+         input.released.countDown();
+      }
+   }
+}
@@ -0,0 +1,102 @@
+/*
+*  File Name: FanOutCipherTest.java
+*  Dependencies: FanOutCipher.java, CipherMetrics.java, Caesar.java, Myszkowski.java and CompiledKey.java
+*
+*  Tests of ciphering one file under many keywords at once: every output must match ciphering under its
+*  keyword alone, and the counters must stay consistent with each other however many keywords there are.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ciphers.Caesar;
+import com.ciphers.CompiledKey;
+import com.ciphers.Myszkowski;
+
+class FanOutCipherTest {
+
+   private static final List<CompiledKey> KEYS = Arrays.asList(
+      new CompiledKey("TOMATO"), new CompiledKey("BANANA"), new CompiledKey("HELLOWORLD"));
+
+   @TempDir
+   Path directory;
+
+   /** Returns lines that are almost all letters, the input that used to drive the dropped count below zero. */
+   private static List<String> lines() {
+      List<String> lines = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+         lines.add("Thequickbrownfoxjumpsoverthelazydog".substring(i % 20) + (i % 7 == 0 ? "." : ""));
+      }
+      lines.add("");
+      return lines;
+   }
+
+   private List<ByteArrayOutputStream> run(Path input, boolean isEncipher) throws Exception {
+      List<ByteArrayOutputStream> outputs = new ArrayList<>();
+      for (int k = 0; k < KEYS.size(); k++) {
+         outputs.add(new ByteArrayOutputStream());
+      }
+      try (FanOutCipher cipher = new FanOutCipher(4, 64)) {
+         if (isEncipher) {
+            cipher.encipher(input, outputs, KEYS);
+         }
+         else {
+            cipher.decipher(input, outputs, KEYS);
+         }
+      }
+      return outputs;
+   }
+
+   @Test
+   void everyKeywordMatchesCipheringAlone() throws Exception {
+      List<String> lines = lines();
+      Path input = Files.write(directory.resolve("plain.txt"), lines, StandardCharsets.US_ASCII);
+      List<ByteArrayOutputStream> outputs = run(input, true);
+      Caesar caesar = new Caesar();
+      Myszkowski myszkowski = new Myszkowski();
+      for (int k = 0; k < KEYS.size(); k++) {
+         StringBuilder expected = new StringBuilder();
+         for (String line : lines) {
+            expected.append(myszkowski.encipher(caesar.encipher(line, KEYS.get(k)), KEYS.get(k))).append('\n');
+         }
+         assertEquals(expected.toString(), outputs.get(k).toString(StandardCharsets.US_ASCII.name()));
+      }
+   }
+
+   @Test
+   void countersStayConsistentAcrossKeywords() throws Exception {
+      List<String> lines = lines();
+      long characters = 0, letters = 0;
+      for (String line : lines) {
+         characters += line.length();
+         letters += line.chars().filter(Character::isLetter).count();
+      }
+      Path input = Files.write(directory.resolve("plain.txt"), lines, StandardCharsets.US_ASCII);
+      CipherMetrics metrics = CipherMetrics.shared();
+      long bytesIn = metrics.getBytesIn(), lettersBefore = metrics.getLetters();
+      long dropped = metrics.getDroppedCharacters(), bytesOut = metrics.getBytesOut();
+      run(input, true);
+      int keys = KEYS.size();
+      assertTrue(metrics.getDroppedCharacters() >= 0);
+      assertEquals(characters * keys, metrics.getBytesIn() - bytesIn);
+      assertEquals(letters * keys, metrics.getLetters() - lettersBefore);
+      assertEquals((characters - letters) * keys, metrics.getDroppedCharacters() - dropped);
+      assertEquals((letters + lines.size()) * keys, metrics.getBytesOut() - bytesOut);
+   }
+}
@@ -0,0 +1,112 @@
+/*
+*  File Name: OffHeapCipherTest.java
+*  Dependencies: OffHeapCipher.java, GatherWriter.java, Caesar.java, Myszkowski.java and CompiledKey.java
+*
+*  Tests of ciphering outside the heap: a mapped file into a gather writer, including lines too long
+*  for the writer's buffers, and one direct buffer into another, compared against Caesar followed by Myszkowski.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.assets.GatherWriter;
+import com.ciphers.Caesar;
+import com.ciphers.CompiledKey;
+import com.ciphers.Myszkowski;
+
+class OffHeapCipherTest {
+
+   private static final CompiledKey KEY = new CompiledKey("TOMATO");
+
+   private static final List<String> LINES = Arrays.asList("The quick brown fox", "", "jumps over, 42 times,",
+      "the lazy dog!", "Rizal " + "Mi ultimo adios ".repeat(40), "end");
+
+   @TempDir
+   Path directory;
+
+   private static String reference(List<String> lines) {
+      Caesar caesar = new Caesar();
+      Myszkowski myszkowski = new Myszkowski();
+      StringBuilder expected = new StringBuilder();
+      for (String line : lines) {
+         expected.append(myszkowski.encipher(caesar.encipher(line, KEY), KEY)).append('\n');
+      }
+      return expected.toString();
+   }
+
+   private static ByteBuffer direct(String text) {
+      byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+      return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+   }
+
+   private static String string(ByteBuffer buffer, int from, int to) {
+      byte[] bytes = new byte[to - from];
+      buffer.get(from, bytes);
+      return new String(bytes, StandardCharsets.US_ASCII);
+   }
+
+   @Test
+   void ciphersAFileThroughSmallWindowsAndBuffers() throws IOException {
+      Path input = Files.write(directory.resolve("in.txt"),
+         String.join("\r\n", LINES).getBytes(StandardCharsets.US_ASCII));
+      Path enciphered = directory.resolve("enciphered.txt"), deciphered = directory.resolve("deciphered.txt");
+      OffHeapCipher cipher = new OffHeapCipher(16);
+      String expected = reference(LINES);
+      // Buffers shorter than the longest line send it through the scratch file.
+      try (GatherWriter writer = new GatherWriter(enciphered, 64, 2, GatherWriter.Sync.NONE, false)) {
+         assertEquals(expected.length(), cipher.encipher(input, writer, KEY));
+      }
+      assertEquals(expected, new String(Files.readAllBytes(enciphered), StandardCharsets.US_ASCII));
+      try (GatherWriter writer = new GatherWriter(deciphered, 64, 2, GatherWriter.Sync.NONE, false)) {
+         cipher.decipher(enciphered, writer, KEY);
+      }
+      List<String> letters = new ArrayList<>();
+      for (String line : LINES) {
+         letters.add(line.replaceAll("[^A-Za-z]", "").toUpperCase());
+      }
+      assertEquals(letters, Files.readAllLines(deciphered, StandardCharsets.US_ASCII));
+   }
+
+   @Test
+   void ciphersOneDirectBufferIntoAnother() {
+      ByteBuffer source = direct(String.join("\r\n", LINES) + "\r\n");
+      ByteBuffer target = ByteBuffer.allocateDirect(source.capacity() + 8);
+      target.position(3);
+      OffHeapCipher cipher = new OffHeapCipher();
+      String expected = reference(LINES);
+      assertEquals(expected.length(), cipher.encipher(source, target, KEY));
+      assertEquals(source.limit(), source.position());
+      assertEquals(3 + expected.length(), target.position());
+      assertEquals(expected, string(target, 3, target.position()));
+   }
+
+   @Test
+   void overflowStopsBeforeTheLineThatDoesNotFit() {
+      ByteBuffer source = direct("first line\nsecond line\n");
+      ByteBuffer target = ByteBuffer.allocateDirect(16);
+      OffHeapCipher cipher = new OffHeapCipher();
+      assertThrows(BufferOverflowException.class, () -> cipher.encipher(source, target, KEY));
+      String first = reference(Arrays.asList("first line"));
+      assertEquals("first line\n".length(), source.position());
+      assertEquals(first.length(), target.position());
+      assertEquals(first, string(target, 0, target.position()));
+   }
+}
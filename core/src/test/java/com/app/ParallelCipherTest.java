@@ -0,0 +1,150 @@
+/*
+*  File Name: ParallelCipherTest.java
+*  Dependencies: ParallelCipher.java, CaesarMyszkowski.java, PlanCache.java, Caesar.java, Myszkowski.java
+*                and CompiledKey.java
+*
+*  Stress tests of the multi-threaded cipher paths. Many lines are ciphered at once on many threads
+*  with the same compiled keys, and every result is compared against the single-threaded output
+*  of Caesar followed by Myszkowski, the way the original program ciphered one line at a time.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ciphers.Caesar;
+import com.ciphers.CaesarMyszkowski;
+import com.ciphers.CompiledKey;
+import com.ciphers.Myszkowski;
+import com.ciphers.PlanCache;
+
+class ParallelCipherTest {
+
+   private static final String[] KEYWORDS = {"TOMATO", "BANANA", "COFFEE", "LETTERS", "HELLOWORLD"};
+
+   private static final int THREADS = 8;
+
+   private static final CompiledKey[] KEYS = new CompiledKey[KEYWORDS.length];
+
+   private static final List<String> LINES = new ArrayList<>();
+
+   // The single-threaded output of every line under every keyword, enciphered and deciphered.
+   private static String[][] enciphered, deciphered;
+
+   @BeforeAll
+   static void baseline() {
+      Random random = new Random(2026);
+      for (int i = 0; i < 4000; i++) {
+         LINES.add(line(random, random.nextInt(8) == 0 ? 0 : random.nextInt(240)));
+      }
+      for (int i = 0; i < 4; i++) {
+         LINES.add(random.nextInt(LINES.size()), line(random, 70000 + random.nextInt(4000)));
+      }
+      Caesar caesar = new Caesar();
+      Myszkowski myszkowski = new Myszkowski();
+      enciphered = new String[KEYWORDS.length][LINES.size()];
+      deciphered = new String[KEYWORDS.length][LINES.size()];
+      for (int k = 0; k < KEYWORDS.length; k++) {
+         KEYS[k] = new CompiledKey(KEYWORDS[k]);
+         for (int i = 0; i < LINES.size(); i++) {
+            enciphered[k][i] = myszkowski.encipher(caesar.encipher(LINES.get(i), KEYS[k]), KEYS[k]);
+            deciphered[k][i] = caesar.decipher(myszkowski.decipher(LINES.get(i), KEYS[k]), KEYS[k]);
+         }
+      }
+   }
+
+   /** Returns a line of random printable ASCII, letters of either case with spaces and punctuation between them. */
+   private static String line(Random random, int length) {
+      String others = " ,.;:!?'-0123456789";
+      StringBuilder line = new StringBuilder(length);
+      for (int i = 0; i < length; i++) {
+         int pick = random.nextInt(60);
+         line.append(pick < 26 ? (char) ('a' + pick) : pick < 52 ? (char) ('A' + pick - 26)
+            : others.charAt(random.nextInt(others.length())));
+      }
+      return line.toString();
+   }
+
+   private static byte[] join(String[] lines) {
+      StringBuilder text = new StringBuilder();
+      for (String line : lines) {
+         text.append(line).append('\n');
+      }
+      return text.toString().getBytes(StandardCharsets.ISO_8859_1);
+   }
+
+   @Test
+   void sharedEngineMatchesSingleThreadedBaseline() throws Exception {
+      // A small cache keeps evicting, so threads race on lookups, insertions and evictions at once.
+      CaesarMyszkowski engine = new CaesarMyszkowski(new PlanCache(4096));
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      CountDownLatch start = new CountDownLatch(1);
+      try {
+         List<Future<Integer>> results = new ArrayList<>();
+         for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(executor.submit(() -> {
+               start.await();
+               byte[] target = new byte[80000];
+               int checked = 0;
+               for (int pass = 0; pass < LINES.size(); pass++) {
+                  // Every thread walks the lines and keys in its own order.
+                  int i = (pass * (2 * thread + 1) + thread * 977) % LINES.size();
+                  int k = (pass + thread) % KEYS.length;
+                  byte[] source = LINES.get(i).getBytes(StandardCharsets.ISO_8859_1);
+                  int count = engine.encipher(source, 0, source.length, target, 0, KEYS[k]);
+                  assertEquals(enciphered[k][i], new String(target, 0, count, StandardCharsets.ISO_8859_1));
+                  count = engine.decipher(source, 0, source.length, target, 0, KEYS[k]);
+                  assertEquals(deciphered[k][i], new String(target, 0, count, StandardCharsets.ISO_8859_1));
+                  checked++;
+               }
+               return checked;
+            }));
+         }
+         start.countDown();
+         for (Future<Integer> result : results) {
+            assertEquals(LINES.size(), result.get());
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   @Test
+   void parallelCipherMatchesSingleThreadedBaseline(@TempDir Path directory) throws Exception {
+      byte[] plaintext = String.join("\n", LINES).concat("\n").getBytes(StandardCharsets.ISO_8859_1);
+      Path file = Files.write(directory.resolve("lines.txt"), plaintext);
+      // Small batches keep every thread busy with many of them and the writer reordering constantly.
+      try (ParallelCipher cipher = new ParallelCipher(THREADS, 7)) {
+         for (int k = 0; k < KEYS.length; k++) {
+            ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+            cipher.encipher(new ByteArrayInputStream(plaintext), streamed, KEYS[k]);
+            assertArrayEquals(join(enciphered[k]), streamed.toByteArray(), KEYWORDS[k]);
+            ByteArrayOutputStream mapped = new ByteArrayOutputStream();
+            cipher.decipher(file, mapped, KEYS[k]);
+            assertArrayEquals(join(deciphered[k]), mapped.toByteArray(), KEYWORDS[k]);
+         }
+      }
+   }
+}
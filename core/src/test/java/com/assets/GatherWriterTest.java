@@ -0,0 +1,161 @@
+/*
+*  File Name: GatherWriterTest.java
+*  Dependencies: GatherWriter.java
+*
+*  Tests of the gather writer: bytes written every way must reach the file in order across many buffers,
+*  an atomic writer must leave the target alone until it closes, and aborting must leave no partial file.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GatherWriterTest {
+
+   private static final byte[] OLD = "old contents\n".getBytes(StandardCharsets.US_ASCII);
+   private static final byte[] NEW = "new contents\n".getBytes(StandardCharsets.US_ASCII);
+
+   @TempDir
+   Path directory;
+
+   private long files() throws IOException {
+      try (Stream<Path> files = Files.list(directory)) {
+         return files.count();
+      }
+   }
+
+   @Test
+   void keepsOrderAcrossBuffersAndWaysOfWriting() throws IOException {
+      Path target = directory.resolve("out.txt");
+      ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      Random random = new Random(7);
+      try (GatherWriter writer = new GatherWriter(target, 8, 3, GatherWriter.Sync.NONE, false)) {
+         for (int step = 0; step < 2000; step++) {
+            byte[] bytes = new byte[random.nextInt(20)];
+            random.nextBytes(bytes);
+            switch (step % 4) {
+               case 0:
+                  writer.write(bytes, 0, bytes.length);
+                  expected.write(bytes, 0, bytes.length);
+                  break;
+               case 1:
+                  ByteBuffer source = ByteBuffer.allocateDirect(bytes.length + 2);
+                  source.put(bytes).flip().position(Math.min(2, bytes.length));
+                  expected.write(bytes, source.position(), source.remaining());
+                  writer.write(source);
+                  assertFalse(source.hasRemaining());
+                  break;
+               case 2:
+                  int length = Math.min(bytes.length, writer.bufferSize());
+                  ByteBuffer buffer = writer.claim(length);
+                  assertTrue(buffer.remaining() >= length);
+                  for (int i = 0; i < length; i++) {
+                     buffer.put(buffer.position() + i, bytes[i]);
+                  }
+                  writer.commit(length);
+                  expected.write(bytes, 0, length);
+                  break;
+               default:
+                  writer.write(step);
+                  expected.write(step);
+            }
+         }
+         assertThrows(IllegalArgumentException.class, () -> writer.claim(9));
+      }
+      assertArrayEquals(expected.toByteArray(), Files.readAllBytes(target));
+   }
+
+   @Test
+   void gathersFullBuffersIntoOneWrite() throws IOException {
+      Path target = directory.resolve("out.txt");
+      try (GatherWriter writer = new GatherWriter(target, 4, 4, GatherWriter.Sync.NONE, false)) {
+         writer.write(new byte[16], 0, 16);
+         assertEquals(0, writer.writes());
+         writer.write('x');
+         assertEquals(1, writer.writes());
+      }
+      assertEquals(17, Files.size(target));
+   }
+
+   @Test
+   void atomicWriterReplacesTheTargetOnlyOnClose() throws IOException {
+      Path target = Files.write(directory.resolve("out.txt"), OLD);
+      try (GatherWriter writer = new GatherWriter(target, 4, 2, GatherWriter.Sync.ON_CLOSE, true)) {
+         writer.write(NEW, 0, NEW.length);
+         writer.flush();
+         assertArrayEquals(OLD, Files.readAllBytes(target));
+         assertEquals(2, files());
+      }
+      assertArrayEquals(NEW, Files.readAllBytes(target));
+      assertEquals(1, files());
+   }
+
+   @Test
+   void atomicWriterKeepsThePermissionsOfTheTarget() throws IOException {
+      Assumptions.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+      Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+      Path target = Files.write(directory.resolve("out.txt"), OLD);
+      Files.setPosixFilePermissions(target, permissions);
+      try (GatherWriter writer = new GatherWriter(target, 4, 2, GatherWriter.Sync.NONE, true)) {
+         writer.write(NEW, 0, NEW.length);
+      }
+      assertArrayEquals(NEW, Files.readAllBytes(target));
+      assertEquals(permissions, Files.getPosixFilePermissions(target));
+   }
+
+   @Test
+   void abortingAnAtomicWriterLeavesTheTarget() throws IOException {
+      Path target = Files.write(directory.resolve("out.txt"), OLD);
+      GatherWriter writer = new GatherWriter(target, 4, 2, GatherWriter.Sync.NONE, true);
+      writer.write(NEW, 0, NEW.length);
+      writer.abort();
+      writer.close();
+      assertArrayEquals(OLD, Files.readAllBytes(target));
+      assertEquals(1, files());
+      assertThrows(IOException.class, writer::flush);
+   }
+
+   @Test
+   void abortingAPlainWriterDeletesThePartialTarget() throws IOException {
+      Path target = Files.write(directory.resolve("out.txt"), OLD);
+      GatherWriter writer = new GatherWriter(target, 4, 2, GatherWriter.Sync.NONE, false);
+      writer.write(NEW, 0, NEW.length);
+      writer.abort();
+      assertFalse(Files.exists(target));
+      assertEquals(0, files());
+   }
+
+   @Test
+   void abortingAfterCloseKeepsTheFile() throws IOException {
+      Path target = directory.resolve("out.txt");
+      GatherWriter writer = new GatherWriter(target, 4, 2, GatherWriter.Sync.NONE, false);
+      writer.write(NEW, 0, NEW.length);
+      writer.close();
+      writer.abort();
+      assertArrayEquals(NEW, Files.readAllBytes(target));
+   }
+}
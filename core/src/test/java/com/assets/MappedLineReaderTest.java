@@ -0,0 +1,94 @@
+/*
+*  File Name: MappedLineReaderTest.java
+*  Dependencies: MappedLineReader.java
+*
+*  Tests of reading lines out of memory-mapped windows: every mix of line feeds, carriage returns and both,
+*  read through windows from one byte up, so terminators and lines straddle every window boundary,
+*  and lines much longer than a window.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedLineReaderTest {
+
+   @TempDir
+   Path directory;
+
+   /** Splits text the way the reader should: at LF, CR or CRLF, without an empty line after a final terminator. */
+   private static List<String> expected(String text) {
+      List<String> lines = new ArrayList<>(Arrays.asList(text.split("\r\n|\r|\n", -1)));
+      if (lines.get(lines.size() - 1).isEmpty()) {
+         lines.remove(lines.size() - 1);
+      }
+      return lines;
+   }
+
+   private List<String> read(String text, int window) throws IOException {
+      Path file = Files.write(directory.resolve("lines.txt"), text.getBytes(StandardCharsets.US_ASCII));
+      List<String> lines = new ArrayList<>();
+      try (MappedLineReader reader = new MappedLineReader(file, window)) {
+         for (int length = reader.readLine(); length != -1; length = reader.readLine()) {
+            byte[] line = new byte[length];
+            reader.buffer().get(reader.offset(), line);
+            lines.add(new String(line, StandardCharsets.US_ASCII));
+         }
+         assertEquals(text.length(), reader.position());
+         assertEquals(text.length(), reader.size());
+         assertEquals(-1, reader.readLine());
+      }
+      return lines;
+   }
+
+   @Test
+   void splitsAtEveryKindOfTerminatorAcrossWindows() throws IOException {
+      String[] texts = {"", "a", "\n", "\r", "\r\n", "\n\n", "\r\r", "\r\n\r\n", "\n\r", "one\r\ntwo\rthree\nfour",
+         "ends with CRLF\r\n", "ends with CR\r", "\r\nleading", "x\r\n\r\ny\r\r\nz"};
+      for (String text : texts) {
+         for (int window = 1; window <= text.length() + 1; window++) {
+            assertEquals(expected(text), read(text, window), "window " + window + " over " + text.replace("\r", "\\r")
+               .replace("\n", "\\n"));
+         }
+      }
+   }
+
+   @Test
+   void randomTextMatchesSplitting() throws IOException {
+      Random random = new Random(5);
+      String alphabet = "ab \r\n";
+      for (int trial = 0; trial < 50; trial++) {
+         StringBuilder text = new StringBuilder();
+         for (int i = random.nextInt(200); i > 0; i--) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+         }
+         for (int window : new int[] {1, 2, 3, 7, 64}) {
+            assertEquals(expected(text.toString()), read(text.toString(), window));
+         }
+      }
+   }
+
+   @Test
+   void growsTheWindowForLongLines() throws IOException {
+      String longLine = "x".repeat(10000);
+      String text = "short\r\n" + longLine + "\r\n" + longLine + "y\nlast";
+      assertEquals(expected(text), read(text, 16));
+      assertThrows(IllegalArgumentException.class, () -> new MappedLineReader(directory.resolve("lines.txt"), 0));
+   }
+}
@@ -0,0 +1,76 @@
+/*
+*  File Name: QueueTest.java
+*  Dependencies: Queue.java
+*
+*  Tests of the circular queue: first in, first out across many wraps of its buffer,
+*  sorting a queue whose elements wrap around, and the errors at either bound.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.assets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class QueueTest {
+
+   @Test
+   void keepsOrderAcrossWraps() {
+      Queue queue = new Queue(5);
+      ArrayDeque<Integer> expected = new ArrayDeque<>();
+      Random random = new Random(16);
+      for (int step = 0; step < 10000; step++) {
+         if (!queue.isFull() && (queue.isEmpty() || random.nextBoolean())) {
+            int value = random.nextInt();
+            queue.offer(value);
+            expected.add(value);
+         }
+         else {
+            assertEquals(expected.poll().intValue(), queue.poll());
+         }
+         assertEquals(expected.size(), queue.count());
+      }
+   }
+
+   @Test
+   void sortsElementsThatWrapAround() {
+      Queue queue = new Queue(4);
+      queue.offer(9);
+      queue.offer(8);
+      queue.offer(7);
+      queue.poll();
+      queue.poll();
+      queue.offer(1);
+      queue.offer(5);
+      queue.sort();
+      assertEquals(3, queue.count());
+      assertEquals(1, queue.poll());
+      assertEquals(5, queue.poll());
+      queue.offer(4);
+      queue.offer(3);
+      queue.offer(2);
+      assertTrue(queue.isFull());
+      assertEquals(7, queue.poll());
+      assertEquals(4, queue.poll());
+   }
+
+   @Test
+   void rejectsOfferingWhenFullAndPollingWhenEmpty() {
+      Queue queue = new Queue(1);
+      assertThrows(IllegalStateException.class, queue::poll);
+      queue.offer(1);
+      assertThrows(IllegalStateException.class, () -> queue.offer(2));
+      assertEquals(1, queue.poll());
+      assertFalse(queue.isFull());
+      assertThrows(IllegalArgumentException.class, () -> new Queue(0));
+   }
+}
@@ -0,0 +1,73 @@
+/*
+*  File Name: BlockCipherTest.java
+*  Dependencies: BlockCipher.java, Caesar.java, Myszkowski.java and CompiledKey.java
+*
+*  Tests of the streaming block mode: every full block and the shorter last one must come out as
+*  Caesar followed by Myszkowski on that block's letters alone, and deciphering must restore them.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class BlockCipherTest {
+
+   private static final CompiledKey KEY = new CompiledKey("TOMATO");
+
+   private static final String TEXT = "It is a useless life that is not consecrated to a great ideal.\r\n"
+      + "It is like a stone wasted on the field without becoming a part of any edifice.\n"
+      + "\n12345, -- Jose Rizal";
+
+   private static String run(BlockCipher cipher, String text, boolean isEncipher) throws IOException {
+      ByteArrayInputStream input = new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      long count = isEncipher ? cipher.encipher(input, output) : cipher.decipher(input, output);
+      assertEquals(output.size(), count);
+      return output.toString(StandardCharsets.US_ASCII.name());
+   }
+
+   @Test
+   void everyBlockIsCipheredOnItsOwn() throws IOException {
+      String letters = TEXT.replaceAll("[^A-Za-z]", "");
+      Caesar caesar = new Caesar();
+      Myszkowski myszkowski = new Myszkowski();
+      for (int blockSize : new int[] {6, 12, 60, 65532}) {
+         StringBuilder expected = new StringBuilder();
+         for (int from = 0; from < letters.length(); from += blockSize) {
+            String block = letters.substring(from, Math.min(from + blockSize, letters.length()));
+            expected.append(myszkowski.encipher(caesar.encipher(block, KEY), KEY));
+         }
+         assertEquals(expected.toString(), run(new BlockCipher(KEY, blockSize), TEXT, true), "block size " + blockSize);
+      }
+   }
+
+   @Test
+   void decipheringRestoresTheLetters() throws IOException {
+      BlockCipher cipher = new BlockCipher(KEY, 18);
+      assertEquals(TEXT.replaceAll("[^A-Za-z]", "").toUpperCase(), run(cipher, run(cipher, TEXT, true), false));
+   }
+
+   @Test
+   void emptyStreamWritesNothing() throws IOException {
+      assertEquals("", run(new BlockCipher(KEY), "", true));
+      assertEquals("", run(new BlockCipher(KEY), " \r\n 42 \n", true));
+   }
+
+   @Test
+   void blockSizeMustHoldWholeRows() {
+      assertThrows(IllegalArgumentException.class, () -> new BlockCipher(KEY, 13));
+      assertThrows(IllegalArgumentException.class, () -> new BlockCipher(KEY, 0));
+      assertEquals(65532, new BlockCipher(KEY).blockSize());
+   }
+}
@@ -0,0 +1,89 @@
+/*
+*  File Name: KeySearchTest.java
+*  Dependencies: KeySearch.java, Caesar.java, Myszkowski.java and CompiledKey.java
+*
+*  Tests of the known-plaintext keyword search: the class holding the real keyword must be found,
+*  every keyword spelled out of a class must encipher the line the same way, and lines too short
+*  to constrain a keyword must not be searched at all.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class KeySearchTest {
+
+   private static final String LINE = "Attack at dawn, hold the bridge until noon";
+
+   private static String encipher(String line, String keyword) {
+      CompiledKey key = new CompiledKey(keyword);
+      return new Myszkowski().encipher(new Caesar().encipher(line, key), key);
+   }
+
+   @Test
+   void findsTheClassOfTheKeyword() {
+      for (String keyword : new String[] {"TOMATO", "AABCD", "HELLOWORLD", "ABCABCABC"}) {
+         String ciphertext = encipher(LINE, keyword);
+         List<KeySearch.Match> matches;
+         try (KeySearch search = new KeySearch(2)) {
+            matches = search.search(LINE, ciphertext);
+            assertTrue(search.tested() > 0);
+         }
+         assertFalse(matches.isEmpty(), keyword);
+         boolean isFound = false;
+         for (KeySearch.Match match : matches) {
+            List<String> keywords = new ArrayList<>();
+            KeySearch.keywords(match, keywords::add);
+            assertEquals(match.keywords(), keywords.size(), match.toString());
+            isFound |= keywords.contains(keyword);
+            for (String candidate : keywords.subList(0, Math.min(5, keywords.size()))) {
+               assertEquals(ciphertext, encipher(LINE, candidate), candidate);
+            }
+         }
+         assertTrue(isFound, keyword);
+      }
+   }
+
+   @Test
+   void spellingStopsAtTheLimit() {
+      List<KeySearch.Match> matches;
+      try (KeySearch search = new KeySearch(1)) {
+         matches = search.search(LINE, encipher(LINE, "TOMATO"));
+      }
+      KeySearch.Match match = matches.get(0);
+      List<String> keywords = new ArrayList<>();
+      KeySearch.keywords(match, 3, keywords::add);
+      assertEquals(3, keywords.size());
+      assertEquals(keywords.get(0), KeySearch.keyword(match));
+      keywords.clear();
+      KeySearch.keywords(match, 0, keywords::add);
+      assertTrue(keywords.isEmpty());
+   }
+
+   @Test
+   void keywordsLongerThanTheLineAreNotSearched() {
+      String line = "Attack!";
+      String ciphertext = encipher(line, "AABCD");
+      try (KeySearch search = new KeySearch(1)) {
+         boolean isFound = false;
+         for (KeySearch.Match match : search.search(line, ciphertext)) {
+            assertTrue(match.length() <= 6, match.toString());
+            isFound |= match.pattern().equals("AABCD");
+         }
+         assertTrue(isFound);
+         assertThrows(IllegalArgumentException.class, () -> search.search("Hell", "ABCD"));
+         assertTrue(search.search(LINE, encipher(LINE, "TOMATO").substring(1)).isEmpty());
+      }
+   }
+}
@@ -0,0 +1,124 @@
+/*
+*  File Name: KnownAnswerTest.java
+*  Dependencies: Caesar.java, Myszkowski.java, CaesarMyszkowski.java and CompiledKey.java
+*
+*  Known-answer tests of the Caesar-Myszkowski cipher. Every vector was produced by the original program,
+*  version 2.2, ciphering one line at a time with Caesar and then Myszkowski, so a regression shared by
+*  the rewritten stages and the fused kernel cannot pass unnoticed.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class KnownAnswerTest {
+
+   // The keyword, a line, the line enciphered, and the line deciphered as if it were ciphertext.
+   private static final String[][] VECTORS = {
+      {"TOMATO", "Attack at dawn!",
+         "JJCMCTCWJLJF", "UTKRRBNRRKEK"},
+      {"TOMATO", "The quick brown fox jumps over the lazy dog.",
+         "ZAGXNXNKXBQMQRTFODYNCJHCDLXWSVEAUIP", "VETKIWKFBYYOVASVCLRDIHQGPJFLUFFMNZX"},
+      {"TOMATO", "Sphinx of black quartz, judge my vow",
+         "RUJMXQKDDEYGOLZCSNHBWXJTAIPVF", "AROJLTUBFGXHVLWYDRPISZMKFQCEN"},
+      {"TOMATO", "MY LAST FAREWELL, by Jose Rizal (1896)",
+         "JNHRUAKAHCJNUXNJVBOFUSBIU", "AIJDFVJNKPVVICWCZCQSRRRPC"},
+      {"TOMATO", "zzzzzyyyyyxxxxx",
+         "IHIHGIHHGGIIHGG", "OPQQOPOPQQOPOPQ"},
+      {"AABCD", "Attack at dawn!",
+         "GZQGCTZZGJIG", "UNUXQNUNUHWE"},
+      {"AABCD", "The quick brown fox jumps over the lazy dog.",
+         "ZNOIUCDPYUZNFEKQTABKJWHLSKRUAXUVXGM", "NBIIFYKRPUOCDYTWEOLSVLGNXIQJBIHZMYA"},
+      {"AABCD", "Sphinx of black quartz, judge my vow",
+         "YVDUGIGXAJEBNLQZMUOHWFKCTRAPS", "MJETGBCKDSHROOPIZUXIVFLAQUWNY"},
+      {"AABCD", "MY LAST FAREWELL, by Jose Rizal (1896)",
+         "SEZLCKEPXORGRUFGXRYGYKHKR", "GSQSLFUYDCMNFITZUFMULYVYF"},
+      {"AABCD", "zzzzzyyyyyxxxxx",
+         "FFEEDDFEDFEDFED", "TTSSRTTSRRTSSRR"},
+      {"BANANA", "Attack at dawn!",
+         "CJTCJWJJCLMF", "RRUKRKKRNTEB"},
+      {"BANANA", "The quick brown fox jumps over the lazy dog.",
+         "QZRTAFOGDYXNCNJHXCLWVAINDKXXSBEQUMP", "LKVYIVDHKLYZGTVBCSJIRFQNFEPWUFMOFAX"},
+      {"BANANA", "Sphinx of black quartz, judge my vow",
+         "YRGOULZJCSMNHXBXTIVQWKJDADPEF", "LJAGLYRZUEXOIFVWDSKCPRMTQBFHN"},
+      {"BANANA", "MY LAST FAREWELL, by Jose Rizal (1896)",
+         "HJCJNNUHXNRJVOUBUUBAFKSAI", "CDFPJCCRVJIKSWZRQIPVRNCVA"},
+      {"BANANA", "zzzzzyyyyyxxxxx",
+         "IIHHHGGIHGIIHGG", "PQOQOQPQOQOPPPO"},
+      {"HELLOWORLD", "Attack at dawn!",
+         "VOIVROVYXVOF", "FYPFISFBYFHY"},
+      {"HELLOWORLD", "The quick brown fox jumps over the lazy dog.",
+         "MKVCRJTOJNUZLWIAHQZGYJPXJEMCBFPZDSO", "PVBSAIJFKYGZTCWTYEOMWNZRMLJDUJTHXTQ"},
+      {"HELLOWORLD", "Sphinx of black quartz, judge my vow",
+         "GEKXYNVPCDWFLUBZRIJPMHQAOJSVT", "CMGQYAEJFXTNHPOTZRVUKSZFIBLDW"},
+      {"HELLOWORLD", "MY LAST FAREWELL, by Jose Rizal (1896)",
+         "ZZTZDHRMGVMGGNUVNAWEGVJOT", "YQWJOFTNBRKFJQXQJEQDFXGDW"},
+      {"HELLOWORLD", "zzzzzyyyyyxxxxx",
+         "TUSUSUUTSSUTSTT", "EEDDCCCCDEEEDDC"},
+      {"ABCABCABC", "Attack at dawn!",
+         "SSSSLULOLCVF", "IKLBSIBIEIBV"},
+      {"ABCABCABC", "The quick brown fox jumps over the lazy dog.",
+         "LIUJFPEGJWRGZMCGXBHNLDQYWATOGMKWZSV", "BVZPNBMWPYFMCRTQCIKUHSXGJALZWWWDOEM"},
+      {"ABCABCABC", "Sphinx of black quartz, judge my vow",
+         "KAGDCSRVEGHFXSIJBYQOZPTUMLMWN", "AICXKLPSOQYMVCUFIGWZDNBWJHETR"},
+      {"ABCABCABC", "MY LAST FAREWELL, by Jose Rizal (1896)",
+         "ESXWDQKADQKSODBWRDLJWTGJS", "UMWGEATMMITZATQBJHNGIIRTZ"},
+      {"ABCABCABC", "zzzzzyyyyyxxxxx",
+         "RRQQPRRQPPRQQPP", "HGFHGFHGFHGFHGF"}
+   };
+
+   @Test
+   void stagesMatchTheOriginalProgram() {
+      Caesar caesar = new Caesar();
+      Myszkowski myszkowski = new Myszkowski();
+      for (String[] vector : VECTORS) {
+         String keyword = vector[0], line = vector[1];
+         assertEquals(vector[2], myszkowski.encipher(caesar.encipher(line, keyword), keyword), keyword + ": " + line);
+         assertEquals(vector[3], myszkowski.decipher(caesar.decipher(line, keyword), keyword), keyword + ": " + line);
+         CompiledKey key = new CompiledKey(keyword);
+         assertEquals(vector[2], myszkowski.encipher(caesar.encipher(line, key), key), keyword + ": " + line);
+         assertEquals(vector[3], myszkowski.decipher(caesar.decipher(line, key), key), keyword + ": " + line);
+      }
+   }
+
+   @Test
+   void fusedKernelMatchesTheOriginalProgram() throws IOException {
+      CaesarMyszkowski kernel = new CaesarMyszkowski();
+      for (String[] vector : VECTORS) {
+         CompiledKey key = new CompiledKey(vector[0]);
+         String line = vector[1];
+         StringBuilder enciphered = new StringBuilder(), deciphered = new StringBuilder();
+         kernel.encipher(line, enciphered, key);
+         kernel.decipher(line, deciphered, key);
+         assertEquals(vector[2], enciphered.toString(), vector[0] + ": " + line);
+         assertEquals(vector[3], deciphered.toString(), vector[0] + ": " + line);
+         byte[] source = ("  " + line).getBytes(StandardCharsets.US_ASCII);
+         byte[] target = new byte[source.length + 3];
+         int count = kernel.encipher(source, 2, line.length(), target, 3, key);
+         assertEquals(vector[2], new String(target, 3, count, StandardCharsets.US_ASCII), vector[0] + ": " + line);
+         count = kernel.decipher(source, 2, line.length(), target, 3, key);
+         assertEquals(vector[3], new String(target, 3, count, StandardCharsets.US_ASCII), vector[0] + ": " + line);
+      }
+   }
+
+   @Test
+   void decipheringUndoesEnciphering() {
+      CaesarMyszkowski kernel = new CaesarMyszkowski();
+      for (String[] vector : VECTORS) {
+         CompiledKey key = new CompiledKey(vector[0]);
+         byte[] ciphertext = vector[2].getBytes(StandardCharsets.US_ASCII);
+         byte[] plaintext = new byte[ciphertext.length];
+         kernel.decipher(ciphertext, 0, ciphertext.length, plaintext, key);
+         assertEquals(vector[1].replaceAll("[^A-Za-z]", "").toUpperCase(),
+            new String(plaintext, StandardCharsets.US_ASCII), vector[0] + ": " + vector[1]);
+      }
+   }
+}
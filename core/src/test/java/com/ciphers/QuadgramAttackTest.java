@@ -0,0 +1,66 @@
+/*
+*  File Name: QuadgramAttackTest.java
+*  Dependencies: QuadgramAttack.java, Quadgrams.java, Caesar.java, Myszkowski.java and CompiledKey.java
+*
+*  Tests of the ciphertext-only attack: trained on two of the bundled plaintexts, it must decipher the third
+*  without its keyword, landing on the class of keywords that holds the real one.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class QuadgramAttackTest {
+
+   // The bundled plaintexts, relative to the core module the tests run in.
+   private static final Path CORPUS = Paths.get("..", "files", "plaintexts");
+
+   @Test
+   void recoversAnUnseenText() throws IOException {
+      CompiledKey key = new CompiledKey("TOMATO");
+      Quadgrams model = new Quadgrams(Arrays.asList(CORPUS.resolve("My Last Farewell.txt"),
+         CORPUS.resolve("Education Gives Luster to the Motherland.txt")));
+      List<String> ciphertext = new ArrayList<>(), plaintext = new ArrayList<>();
+      Caesar caesar = new Caesar();
+      Myszkowski myszkowski = new Myszkowski();
+      for (String line : Files.readAllLines(CORPUS.resolve("To the Filipino Youth.txt"), StandardCharsets.ISO_8859_1)) {
+         ciphertext.add(myszkowski.encipher(caesar.encipher(line, key), key));
+         plaintext.add(line.replaceAll("[^A-Za-z]", "").toUpperCase());
+      }
+      try (QuadgramAttack attack = new QuadgramAttack(model, 1, 8, QuadgramAttack.DEFAULT_PATIENCE, 42)) {
+         QuadgramAttack.Result result = attack.attack(ciphertext);
+         assertNotNull(result);
+         assertEquals(plaintext, result.plaintext());
+         assertEquals(key.shift(), result.match().shift());
+         assertEquals("DCBADC", result.match().pattern());
+         assertTrue(attack.scored() > 0);
+      }
+   }
+
+   @Test
+   void rejectsCiphertextWithoutAQuadgram() {
+      Quadgrams model = new Quadgrams("the quick brown fox jumps over the lazy dog");
+      try (QuadgramAttack attack = new QuadgramAttack(model, 1, 1, 1, 0)) {
+         assertThrows(IllegalArgumentException.class, () -> attack.attack(Collections.singletonList("abc, 1234")));
+      }
+      assertThrows(IllegalArgumentException.class, () -> new QuadgramAttack(model, 1, 0, 1, 0));
+   }
+}
@@ -0,0 +1,91 @@
+/*
+*  File Name: VectorCaesarTest.java
+*  Dependencies: VectorCaesar.java and Caesar.java
+*
+*  Tests of the Caesar substitution on SIMD registers against the scalar translate tables,
+*  across every shift, line lengths around the width of a register, and offsets into the array.
+*
+*  @author  Francis Nathanael De Villena | BSCS2A | fnodevillena@usep.edu.ph
+*  @version 2.3 2026/10/17
+*/
+
+package com.ciphers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class VectorCaesarTest {
+
+   /** Returns every length from zero to a few registers, so each loop ends both on and off a register. */
+   private static int[] lengths() {
+      int[] lengths = new int[4 * VectorCaesar.lanes() + 2];
+      for (int i = 0; i < lengths.length; i++) {
+         lengths[i] = i;
+      }
+      return lengths;
+   }
+
+   private static byte[] text(Random random, int length) {
+      byte[] text = new byte[length];
+      for (int i = 0; i < length; i++) {
+         text[i] = (byte) random.nextInt(256);
+      }
+      return text;
+   }
+
+   @Test
+   void substituteMatchesTheScalarTable() {
+      Random random = new Random(17);
+      for (int shift = 0; shift < 26; shift++) {
+         byte[] table = Caesar.table(shift);
+         for (int length : lengths()) {
+            int offset = random.nextInt(8);
+            byte[] source = text(random, offset + length);
+            byte[] expected = new byte[length];
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+               byte character = table[source[offset + i] & 0xFF];
+               if (character != 0) {
+                  expected[count++] = character;
+               }
+            }
+            byte[] target = new byte[length];
+            assertEquals(count, VectorCaesar.substitute(source, offset, length, target, shift, table));
+            assertArrayEquals(Arrays.copyOf(expected, count), Arrays.copyOf(target, count));
+         }
+      }
+   }
+
+   @Test
+   void allLetterRegistersAreStoredWhole() {
+      byte[] source = new byte[3 * VectorCaesar.lanes() + 1];
+      for (int i = 0; i < source.length; i++) {
+         source[i] = (byte) ((i % 2 == 0 ? 'a' : 'A') + i % 26);
+      }
+      byte[] target = new byte[source.length];
+      assertEquals(source.length, VectorCaesar.substitute(source, 0, source.length, target, 3, Caesar.table(3)));
+      for (int i = 0; i < source.length; i++) {
+         assertEquals((byte) ('A' + (i % 26 + 3) % 26), target[i]);
+      }
+   }
+
+   @Test
+   void countMatchesTheScalarTable() {
+      Random random = new Random(21);
+      byte[] table = Caesar.table(0);
+      for (int length : lengths()) {
+         int offset = random.nextInt(8);
+         byte[] source = text(random, offset + length);
+         int expected = 0;
+         for (int i = 0; i < length; i++) {
+            expected += table[source[offset + i] & 0xFF] != 0 ? 1 : 0;
+         }
+         assertEquals(expected, VectorCaesar.count(source, offset, length, table));
+      }
+   }
+}